@@ -0,0 +1,60 @@
+package com.pms.apigateway.accesslog;
+
+/**
+ * One completed gateway request, formatted off the request path by {@link AccessLogWriter}.
+ */
+record AccessLogEntry(long timestampMillis,
+                      String routeId,
+                      String method,
+                      String path,
+                      int status,
+                      long upstreamMillis,
+                      long totalMillis,
+                      long bytesIn,
+                      long bytesOut,
+                      String user,
+                      double sampleRate) {
+
+    String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"ts\":").append(timestampMillis);
+        appendString(json, "route", routeId);
+        appendString(json, "method", method);
+        appendString(json, "path", path);
+        json.append(",\"status\":").append(status);
+        json.append(",\"upstreamMs\":").append(upstreamMillis);
+        json.append(",\"totalMs\":").append(totalMillis);
+        json.append(",\"bytesIn\":").append(bytesIn);
+        json.append(",\"bytesOut\":").append(bytesOut);
+        appendString(json, "user", user);
+        json.append(",\"sampleRate\":").append(sampleRate);
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,115 @@
+package com.pms.apigateway.accesslog;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.pms.apigateway.filter.JwtValidationGatewayFilterFactory;
+import com.pms.apigateway.security.TokenValidationResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records one structured access log line per routed request: route, method, path, status, time until the
+ * upstream response headers arrived, total time, request/response bytes and the authenticated user.
+ * Non-2xx responses are always logged; 2xx responses are sampled at {@code success-sample-rate}.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    private final AccessLogWriter writer;
+    private final boolean enabled;
+    private final double successSampleRate;
+
+    public AccessLogFilter(AccessLogWriter writer,
+                           @Value("${gateway.access-log.enabled:true}") boolean enabled,
+                           @Value("${gateway.access-log.success-sample-rate:1.0}") double successSampleRate) {
+        this.writer = writer;
+        this.enabled = enabled;
+        this.successSampleRate = successSampleRate;
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost of the gateway filters so the byte counts and timings cover everything else
+        return Ordered.HIGHEST_PRECEDENCE + 10_000;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        AtomicLong bytesIn = new AtomicLong();
+        AtomicLong bytesOut = new AtomicLong();
+        AtomicLong headersAt = new AtomicLong();
+
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().doOnNext(buffer -> bytesIn.addAndGet(buffer.readableByteCount()));
+            }
+        };
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body)
+                        .doOnNext(buffer -> bytesOut.addAndGet(buffer.readableByteCount())));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return super.writeAndFlushWith(Flux.from(body).map(chunk -> Flux.from(chunk)
+                        .doOnNext(buffer -> bytesOut.addAndGet(buffer.readableByteCount()))));
+            }
+        };
+        response.beforeCommit(() -> {
+            headersAt.compareAndSet(0, System.nanoTime());
+            return Mono.empty();
+        });
+
+        ServerWebExchange logged = exchange.mutate().request(request).response(response).build();
+        return chain.filter(logged)
+                .doFinally(signal -> log(logged, start, headersAt.get(), bytesIn.get(), bytesOut.get()));
+    }
+
+    private void log(ServerWebExchange exchange, long start, long headersAt, long bytesIn, long bytesOut) {
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 0;
+        boolean success = status >= 200 && status < 300;
+        if (success && successSampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= successSampleRate) {
+            return;
+        }
+        long now = System.nanoTime();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        TokenValidationResult caller = exchange.getAttribute(JwtValidationGatewayFilterFactory.CALLER_ATTR);
+        writer.submit(new AccessLogEntry(
+                System.currentTimeMillis(),
+                route != null ? route.getId() : null,
+                exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().value(),
+                status,
+                ((headersAt != 0 ? headersAt : now) - start) / 1_000_000,
+                (now - start) / 1_000_000,
+                bytesIn,
+                bytesOut,
+                caller != null ? caller.subject() : null,
+                success ? successSampleRate : 1.0));
+    }
+}
@@ -0,0 +1,85 @@
+package com.pms.apigateway.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves access log entries from request threads to the ACCESS_LOG logger (a rolling file, see
+ * logback-spring.xml). Request threads only enqueue into a lock-free ring buffer; a single daemon thread
+ * formats and writes. If the writer falls behind, entries are dropped and counted rather than slowing
+ * requests down.
+ */
+@Component
+public class AccessLogWriter implements SmartLifecycle {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final MpscRingBuffer<AccessLogEntry> buffer;
+    private final Counter dropped;
+    private volatile boolean running;
+    private Thread drainer;
+
+    public AccessLogWriter(MeterRegistry meterRegistry,
+                           @Value("${gateway.access-log.buffer-size:8192}") int bufferSize) {
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.dropped = Counter.builder("gateway.access-log.dropped").register(meterRegistry);
+    }
+
+    public void submit(AccessLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        drainer = new Thread(this::drain, "access-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        while (running) {
+            if (!writeAvailable()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        // Flush whatever was queued before shutdown
+        writeAvailable();
+    }
+
+    private boolean writeAvailable() {
+        boolean wrote = false;
+        AccessLogEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            accessLog.info(entry.toJson());
+            wrote = true;
+        }
+        return wrote;
+    }
+}
@@ -0,0 +1,11 @@
+package com.pms.apigateway.config;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+import com.pms.apigateway.loadbalancer.LeastOutstandingLoadBalancerConfiguration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LeastOutstandingLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
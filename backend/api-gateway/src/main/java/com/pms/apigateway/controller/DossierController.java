@@ -0,0 +1,172 @@
+package com.pms.apigateway.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.pms.apigateway.exception.AuthServiceUnavailableException;
+import com.pms.apigateway.filter.DeadlineGatewayFilterFactory;
+import com.pms.apigateway.security.IdentityHeaders;
+import com.pms.apigateway.security.RouteAuthorizationMatrix;
+import com.pms.apigateway.security.TokenValidationResult;
+import com.pms.apigateway.security.TokenValidationService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Everything the inmate dossier screen needs in one round trip: inmate details, rehabilitation profile and
+ * recommendations are fetched concurrently, each with its own timeout. A failed or slow leg is reported under
+ * "errors" instead of failing the whole response; only a client error on the inmate itself (e.g. unknown id)
+ * is passed through as the response status.
+ */
+@RestController
+@RequestMapping("/api/dossier")
+public class DossierController {
+
+    private static final Logger log = LoggerFactory.getLogger(DossierController.class);
+
+    private static final String INMATE_ROUTE = "inmate-service-route";
+    private static final String REHABILITATION_ROUTE = "rehabilitation-service-route";
+
+    private final TokenValidationService tokenValidationService;
+    private final RouteAuthorizationMatrix routeAuthorizationMatrix;
+    private final WebClient webClient;
+    private final Duration inmateTimeout;
+    private final Duration rehabilitationTimeout;
+
+    public DossierController(TokenValidationService tokenValidationService,
+                             RouteAuthorizationMatrix routeAuthorizationMatrix,
+                             @LoadBalanced WebClient.Builder loadBalancedWebClientBuilder,
+                             @Value("${gateway.dossier.inmate-timeout:PT2S}") Duration inmateTimeout,
+                             @Value("${gateway.dossier.rehabilitation-timeout:PT3S}") Duration rehabilitationTimeout) {
+        this.tokenValidationService = tokenValidationService;
+        this.routeAuthorizationMatrix = routeAuthorizationMatrix;
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.inmateTimeout = inmateTimeout;
+        this.rehabilitationTimeout = rehabilitationTimeout;
+    }
+
+    @GetMapping("/{inmateId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getDossier(
+            @PathVariable Long inmateId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(value = DeadlineGatewayFilterFactory.HEADER, required = false) Long requestedTimeoutMillis) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        return tokenValidationService.validate(authorization.substring(7))
+                .flatMap(caller -> {
+                    if (!caller.isValid()) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<Map<String, Object>>build());
+                    }
+                    if (!routeAuthorizationMatrix.isAllowed(INMATE_ROUTE, HttpMethod.GET, caller.role())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).<Map<String, Object>>build());
+                    }
+                    Duration inmateBudget = budget(inmateTimeout, requestedTimeoutMillis);
+                    Duration rehabilitationBudget = budget(rehabilitationTimeout, requestedTimeoutMillis);
+                    return Mono.zip(
+                                    leg("inmate", INMATE_ROUTE, inmateBudget, caller,
+                                            "http://inmate-service/inmates/{id}", inmateId),
+                                    leg("rehabilitationProfile", REHABILITATION_ROUTE, rehabilitationBudget, caller,
+                                            "http://rehabilitation-service/rehabilitation/profile/{id}", inmateId),
+                                    leg("recommendations", REHABILITATION_ROUTE, rehabilitationBudget, caller,
+                                            "http://rehabilitation-service/rehabilitation/recommendations/{id}", inmateId))
+                            .map(legs -> compose(inmateId, List.of(legs.getT1(), legs.getT2(), legs.getT3())));
+                })
+                .onErrorResume(AuthServiceUnavailableException.class, e -> {
+                    ResponseEntity.BodyBuilder unavailable = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+                    if (e.getRetryAfter() != null) {
+                        unavailable.header(HttpHeaders.RETRY_AFTER, e.getRetryAfter());
+                    }
+                    return Mono.just(unavailable.<Map<String, Object>>build());
+                });
+    }
+
+    private Mono<Leg> leg(String name, String routeId, Duration timeout, TokenValidationResult caller,
+                          String uri, Long inmateId) {
+        if (!routeAuthorizationMatrix.isAllowed(routeId, HttpMethod.GET, caller.role())) {
+            return Mono.just(Leg.failed(name, HttpStatus.FORBIDDEN.value(), "Not permitted for role"));
+        }
+        return webClient.get()
+                .uri(uri, inmateId)
+                .headers(headers -> {
+                    IdentityHeaders.apply(headers, caller);
+                    headers.set(DeadlineGatewayFilterFactory.HEADER, Long.toString(timeout.toMillis()));
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .defaultIfEmpty(NullNode.getInstance())
+                .map(body -> Leg.ok(name, body))
+                .timeout(timeout)
+                .onErrorResume(WebClientResponseException.class,
+                        e -> Mono.just(Leg.failed(name, e.getStatusCode().value(), e.getStatusText())))
+                .onErrorResume(TimeoutException.class,
+                        e -> Mono.just(Leg.failed(name, HttpStatus.GATEWAY_TIMEOUT.value(), "Timed out after " + timeout)))
+                .onErrorResume(e -> {
+                    // The exception text can name internal hosts; it stays in the log
+                    log.warn("Dossier leg {} failed for inmate {}", name, inmateId, e);
+                    return Mono.just(Leg.failed(name, HttpStatus.BAD_GATEWAY.value(), "Service unavailable"));
+                });
+    }
+
+    // A client may ask for less time than the configured leg timeout, never more
+    private static Duration budget(Duration legTimeout, Long requestedTimeoutMillis) {
+        if (requestedTimeoutMillis == null || requestedTimeoutMillis >= legTimeout.toMillis()) {
+            return legTimeout;
+        }
+        return Duration.ofMillis(Math.max(1, requestedTimeoutMillis));
+    }
+
+    private static ResponseEntity<Map<String, Object>> compose(Long inmateId, List<Leg> legs) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        Map<String, Object> errors = new LinkedHashMap<>();
+        body.put("inmateId", inmateId);
+        for (Leg leg : legs) {
+            body.put(leg.name(), leg.body());
+            if (leg.error() != null) {
+                errors.put(leg.name(), Map.of("status", leg.status(), "message", leg.error()));
+            }
+        }
+        body.put("partial", !errors.isEmpty());
+        body.put("errors", errors);
+
+        Leg inmate = legs.get(0);
+        if (inmate.error() != null && inmate.status() >= 400 && inmate.status() < 500) {
+            return ResponseEntity.status(inmate.status()).body(body);
+        }
+        if (errors.size() == legs.size()) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(body);
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    private record Leg(String name, JsonNode body, int status, String error) {
+
+        static Leg ok(String name, JsonNode body) {
+            return new Leg(name, body, HttpStatus.OK.value(), null);
+        }
+
+        static Leg failed(String name, int status, String error) {
+            return new Leg(name, null, status, error != null ? error : "Request failed");
+        }
+    }
+}
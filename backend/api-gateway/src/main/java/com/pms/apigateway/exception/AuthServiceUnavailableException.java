@@ -0,0 +1,19 @@
+package com.pms.apigateway.exception;
+
+/**
+ * auth-service could not decide on a token: it answered with an error other than 401, timed out or could not
+ * be reached. Reported to the client as 503, with the Retry-After auth-service sent, if any.
+ */
+public class AuthServiceUnavailableException extends RuntimeException {
+
+    private final String retryAfter;
+
+    public AuthServiceUnavailableException(String retryAfter, Throwable cause) {
+        super("Authentication service unavailable", cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public String getRetryAfter() {
+        return retryAfter;
+    }
+}
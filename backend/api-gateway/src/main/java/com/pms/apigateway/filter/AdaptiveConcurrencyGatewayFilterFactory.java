@@ -0,0 +1,207 @@
+package com.pms.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Sheds load per route using a limit that adapts to downstream latency instead of a fixed cap.
+ * Requests are classed by path: critical paths may use the whole limit, normal traffic most of it and
+ * low-priority (reporting) paths only part of it, so reports are the first to get 503 as the limit shrinks.
+ *
+ * <p>Declare it before StripPrefix so the patterns match the public /api/... paths. Constrain path variables
+ * (e.g. {@code {id:\d+}}) where a sibling literal path exists, otherwise {@code /inmates/{id}} also matches
+ * {@code /inmates/high-risk}.
+ */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private static final double NORMAL_SHARE = 0.9;
+    private static final double LOW_SHARE = 0.7;
+    private static final String DROPPED_ATTR = AdaptiveConcurrencyGatewayFilterFactory.class.getName() + ".dropped";
+
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveConcurrencyGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GradientConcurrencyLimit limit =
+                new GradientConcurrencyLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+        List<PathPattern> criticalPaths = parse(config.getCriticalPaths());
+        List<PathPattern> lowPriorityPaths = parse(config.getLowPriorityPaths());
+        String route = String.valueOf(config.getRouteId());
+
+        Gauge.builder("gateway.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limit, GradientConcurrencyLimit::inFlight)
+                .tag("route", route)
+                .register(meterRegistry);
+        Counter shedLow = shedCounter(route, "low");
+        Counter shedNormal = shedCounter(route, "normal");
+        Counter shedCritical = shedCounter(route, "critical");
+
+        return (exchange, chain) -> {
+            PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+            double share;
+            Counter shed;
+            // Low priority wins when both match, so a broad critical pattern never upgrades a report
+            if (matches(lowPriorityPaths, path)) {
+                share = LOW_SHARE;
+                shed = shedLow;
+            } else if (matches(criticalPaths, path)) {
+                share = 1.0;
+                shed = shedCritical;
+            } else {
+                share = NORMAL_SHARE;
+                shed = shedNormal;
+            }
+
+            if (!limit.tryAcquire(share)) {
+                shed.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                        String.valueOf(config.getRetryAfterSeconds()));
+                return exchange.getResponse().setComplete();
+            }
+
+            long start = System.nanoTime();
+            return Mono.defer(() -> chain.filter(exchange))
+                    .doOnError(e -> {
+                        if (e instanceof TimeoutException) {
+                            exchange.getAttributes().put(DROPPED_ATTR, Boolean.TRUE);
+                        }
+                    })
+                    .doFinally(signal -> release(limit, exchange, signal, System.nanoTime() - start));
+        };
+    }
+
+    private void release(GradientConcurrencyLimit limit, ServerWebExchange exchange, SignalType signal, long rttNanos) {
+        if (signal == SignalType.CANCEL) {
+            limit.onIgnore();
+            return;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        boolean overloaded = exchange.getAttributes().containsKey(DROPPED_ATTR)
+                || (status != null && (status.value() == 429 || status.value() == 503 || status.value() == 504));
+        if (overloaded) {
+            limit.onDropped();
+        } else {
+            limit.onSample(rttNanos);
+        }
+    }
+
+    private Counter shedCounter(String route, String priority) {
+        return Counter.builder("gateway.concurrency.shed")
+                .tag("route", route)
+                .tag("priority", priority)
+                .register(meterRegistry);
+    }
+
+    private static List<PathPattern> parse(List<String> patterns) {
+        List<PathPattern> parsed = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            parsed.add(PathPatternParser.defaultInstance.parse(pattern));
+        }
+        return parsed;
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class Config implements HasRouteId {
+        private int initialLimit = 50;
+        private int minLimit = 5;
+        private int maxLimit = 500;
+        private int retryAfterSeconds = 1;
+        private List<String> criticalPaths = new ArrayList<>();
+        private List<String> lowPriorityPaths = new ArrayList<>();
+        private String routeId;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(int retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public List<String> getCriticalPaths() {
+            return criticalPaths;
+        }
+
+        public void setCriticalPaths(List<String> criticalPaths) {
+            this.criticalPaths = criticalPaths;
+        }
+
+        public List<String> getLowPriorityPaths() {
+            return lowPriorityPaths;
+        }
+
+        public void setLowPriorityPaths(List<String> lowPriorityPaths) {
+            this.lowPriorityPaths = lowPriorityPaths;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.pms.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Enforces a per-route request body limit without buffering the body. A declared Content-Length over the
+ * limit is rejected with 413 before anything is sent downstream; chunked bodies are counted as they stream
+ * through and the upload is aborted with 413 as soon as the limit is crossed.
+ *
+ * <p>Declare it after CircuitBreaker: the aborted upload surfaces as an error from the downstream call, and this
+ * filter turns it into the 413 response itself, so the breaker neither counts it as a backend failure nor
+ * answers with its fallback.
+ */
+@Component
+public class BodySizeLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BodySizeLimitGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public BodySizeLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxSize");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long maxBytes = config.getMaxSize().toBytes();
+        Counter rejected = Counter.builder("gateway.body-size.rejected")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            long contentLength = exchange.getRequest().getHeaders().getContentLength();
+            if (contentLength > maxBytes) {
+                rejected.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+                return exchange.getResponse().setComplete();
+            }
+
+            ServerHttpRequestDecorator limited = new ServerHttpRequestDecorator(exchange.getRequest()) {
+                @Override
+                public Flux<DataBuffer> getBody() {
+                    return Flux.defer(() -> {
+                        long[] received = new long[1];
+                        return super.getBody().handle((buffer, sink) -> {
+                            received[0] += buffer.readableByteCount();
+                            if (received[0] > maxBytes) {
+                                DataBufferUtils.release(buffer);
+                                rejected.increment();
+                                sink.error(new BodyTooLargeException(config.getMaxSize()));
+                            } else {
+                                sink.next(buffer);
+                            }
+                        });
+                    });
+                }
+            };
+            return chain.filter(exchange.mutate().request(limited).build())
+                    .onErrorResume(BodySizeLimitGatewayFilterFactory::isBodyTooLarge, e -> {
+                        ServerHttpResponse response = exchange.getResponse();
+                        if (response.isCommitted()) {
+                            return Mono.error(e);
+                        }
+                        response.setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+                        return response.setComplete();
+                    });
+        };
+    }
+
+    // The HTTP client may wrap the error raised while it was streaming the body
+    private static boolean isBodyTooLarge(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof BodyTooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class BodyTooLargeException extends ResponseStatusException {
+        BodyTooLargeException(DataSize maxSize) {
+            super(HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + maxSize);
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private DataSize maxSize = DataSize.ofMegabytes(5);
+        private String routeId;
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.pms.apigateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Buffers the downstream body into a {@link CapturedResponse} and hands it to a callback, which decides what
+ * is actually written (usually {@link #writeBody}). Streaming responses bypass the callback and are passed
+ * straight through after {@code onStreaming} runs.
+ */
+class BufferingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final BufferedHandler onBuffered;
+    private final Runnable onStreaming;
+
+    BufferingResponseDecorator(ServerHttpResponse delegate,
+                               BufferedHandler onBuffered,
+                               Runnable onStreaming) {
+        super(delegate);
+        this.onBuffered = onBuffered;
+        this.onStreaming = onStreaming;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(body)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(EMPTY)
+                .flatMap(bytes -> {
+                    HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.addAll(getHeaders());
+                    return onBuffered.handle(new CapturedResponse(status, headers, bytes), this);
+                });
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        onStreaming.run();
+        return super.writeAndFlushWith(body);
+    }
+
+    Mono<Void> writeBody(byte[] body) {
+        return super.writeWith(Mono.just(bufferFactory().wrap(body)));
+    }
+
+    @FunctionalInterface
+    interface BufferedHandler {
+        Mono<Void> handle(CapturedResponse captured, BufferingResponseDecorator response);
+    }
+}
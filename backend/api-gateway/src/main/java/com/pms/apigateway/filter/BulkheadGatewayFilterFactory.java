@@ -0,0 +1,80 @@
+package com.pms.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Caps the number of in-flight requests per route so one slow downstream service cannot hold
+ * every gateway connection. Excess requests are rejected immediately with 503.
+ */
+@Component
+public class BulkheadGatewayFilterFactory extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public BulkheadGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxConcurrent");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Semaphore permits = new Semaphore(config.getMaxConcurrent());
+        Gauge.builder("gateway.bulkhead.in-flight", permits, p -> config.getMaxConcurrent() - p.availablePermits())
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.bulkhead.rejected")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+            return Mono.defer(() -> chain.filter(exchange))
+                    .doFinally(signal -> permits.release());
+        };
+    }
+
+    public static class Config implements HasRouteId {
+        private int maxConcurrent = 100;
+        private String routeId;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.pms.apigateway.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A fully buffered downstream response that can be written to other exchanges.
+ */
+record CapturedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+    Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        HttpHeaders target = response.getHeaders();
+        // put, not add: CORS headers are already on the target response and must not be duplicated
+        headers.forEach(target::put);
+        target.remove(HttpHeaders.TRANSFER_ENCODING);
+        target.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
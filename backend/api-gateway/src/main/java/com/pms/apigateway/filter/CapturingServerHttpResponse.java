@@ -0,0 +1,69 @@
+package com.pms.apigateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A response that is not bound to any connection and only collects what the downstream chain writes,
+ * so one client request can drive several independent downstream attempts.
+ */
+class CapturingServerHttpResponse extends AbstractServerHttpResponse {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private volatile byte[] body = EMPTY;
+
+    CapturingServerHttpResponse() {
+        super(DefaultDataBufferFactory.sharedInstance);
+    }
+
+    CapturedResponse toCapturedResponse() {
+        HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(getHeaders());
+        return new CapturedResponse(status, headers, body);
+    }
+
+    @Override
+    public <T> T getNativeResponse() {
+        throw new IllegalStateException("Captured responses have no native response");
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(body)
+                .doOnNext(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    this.body = bytes;
+                })
+                .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWithInternal(Flux.from(body).concatMap(Flux::from));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+}
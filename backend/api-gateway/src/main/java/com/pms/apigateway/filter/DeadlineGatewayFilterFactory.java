@@ -0,0 +1,98 @@
+package com.pms.apigateway.filter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Gives every request on the route a time budget and passes what is left of it downstream in the
+ * {@value #HEADER} header (milliseconds, relative, so hosts do not need synchronised clocks). Clients may
+ * send a smaller budget in the same header but never a larger one. When the budget runs out the gateway
+ * answers 504 and cancels the downstream call.
+ */
+@Component
+public class DeadlineGatewayFilterFactory extends AbstractGatewayFilterFactory<DeadlineGatewayFilterFactory.Config> {
+
+    public static final String HEADER = "X-Request-Timeout";
+
+    /**
+     * Outermost of the route filters so cache lookups, coalescing and hedges all run inside the budget.
+     */
+    public static final int ORDER = JwtValidationGatewayFilterFactory.ORDER - 1;
+
+    static final String DEADLINE_ATTR = DeadlineGatewayFilterFactory.class.getName() + ".deadline";
+
+    public DeadlineGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeout");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long budgetMillis = config.getTimeout().toMillis();
+            Long requested = parse(exchange.getRequest().getHeaders().getFirst(HEADER));
+            if (requested != null && requested < budgetMillis) {
+                budgetMillis = requested;
+            }
+            if (budgetMillis <= 0) {
+                return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded"));
+            }
+            exchange.getAttributes().put(DEADLINE_ATTR,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+            return chain.filter(withRemainingBudget(exchange))
+                    .timeout(Duration.ofMillis(budgetMillis), Mono.error(() ->
+                            new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded")));
+        }, ORDER);
+    }
+
+    /**
+     * Rewrite the outgoing header with the budget left right now, e.g. for a hedge sent after a delay.
+     */
+    static ServerWebExchange withRemainingBudget(ServerWebExchange exchange) {
+        Long deadline = exchange.getAttribute(DEADLINE_ATTR);
+        if (deadline == null) {
+            return exchange;
+        }
+        long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> headers.set(HEADER, Long.toString(remainingMillis))))
+                .build();
+    }
+
+    private static Long parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static class Config {
+        private Duration timeout = Duration.ofSeconds(5);
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
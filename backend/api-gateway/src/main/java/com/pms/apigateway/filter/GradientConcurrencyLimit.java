@@ -0,0 +1,102 @@
+package com.pms.apigateway.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-style concurrency limit for one downstream route.
+ *
+ * <p>Two exponentially weighted RTT averages are kept: a short one that follows current latency and a long one
+ * that approximates the uncongested baseline. While the short average stays near the baseline the limit grows by
+ * roughly sqrt(limit) per sample; once latency rises the limit is scaled down by the long/short ratio. Overload
+ * responses from the backend (429/503/504, timeouts) cut the limit multiplicatively, as in AIMD.
+ */
+class GradientConcurrencyLimit {
+
+    private static final double SHORT_RTT_WEIGHT = 0.1;
+    private static final double LONG_RTT_WEIGHT = 0.01;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+    // Tolerate some latency drift before treating it as queueing
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private volatile int currentLimit;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.currentLimit = (int) limit;
+    }
+
+    /**
+     * Try to take a slot, admitting the request only while in-flight stays below the given share of the limit.
+     */
+    boolean tryAcquire(double limitShare) {
+        int allowed = Math.max(1, (int) (currentLimit * limitShare));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void onSample(long rttNanos) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (longRttNanos == 0) {
+                shortRttNanos = rttNanos;
+                longRttNanos = rttNanos;
+            } else {
+                shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_WEIGHT;
+                longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_WEIGHT;
+            }
+            // Let the baseline drift back down quickly once latency recovers
+            if (longRttNanos > shortRttNanos * 2) {
+                longRttNanos = shortRttNanos * 2;
+            }
+            double gradient = Math.max(MIN_GRADIENT,
+                    Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+            double target = limit * gradient + Math.sqrt(limit);
+            update(limit * (1 - SMOOTHING) + target * SMOOTHING);
+        }
+    }
+
+    void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            update(limit * DROP_BACKOFF);
+        }
+    }
+
+    /**
+     * Release a slot without adjusting the limit, e.g. when the client cancelled.
+     */
+    void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return currentLimit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        currentLimit = (int) limit;
+    }
+}
@@ -0,0 +1,205 @@
+package com.pms.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Hedges idempotent GETs: if the first attempt has not answered within the route's observed latency
+ * percentile, a second attempt is sent (the least-outstanding balancer steers it to another replica) and
+ * whichever answers first wins; the other is cancelled. Hedges are paid for from a {@link RetryBudget}, so
+ * they stay a bounded share of traffic even when a whole service slows down.
+ *
+ * <p>Each attempt runs the rest of the chain against its own response and attribute map, which is why this
+ * filter sits just before NettyWriteResponseFilter.
+ */
+@Component
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    public static final int ORDER = RequestCoalescingGatewayFilterFactory.ORDER + 1;
+
+    private final MeterRegistry meterRegistry;
+
+    public HedgeGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        LatencyPercentile latency = new LatencyPercentile(config.getPercentile());
+        RetryBudget budget = new RetryBudget(config.getBudgetPercent(), config.getBudgetBurst());
+        long minDelayNanos = config.getMinDelay().toNanos();
+        long maxDelayNanos = config.getMaxDelay().toNanos();
+        String route = String.valueOf(config.getRouteId());
+
+        Gauge.builder("gateway.hedge.delay", latency, l -> Math.max(0, l.valueNanos()) / 1_000_000.0)
+                .tag("route", route)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Counter sent = counter("gateway.hedge.sent", route);
+        Counter won = counter("gateway.hedge.won", route);
+        Counter denied = counter("gateway.hedge.budget-exhausted", route);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            budget.deposit();
+            long observed = latency.valueNanos();
+            if (observed < 0) {
+                // Not enough samples yet to know what "slow" means for this route
+                long start = System.nanoTime();
+                return chain.filter(exchange).doOnSuccess(done -> latency.record(System.nanoTime() - start));
+            }
+            Duration delay = Duration.ofNanos(Math.max(minDelayNanos, Math.min(maxDelayNanos, observed)));
+
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Mono<CapturedResponse> primary = attempt(exchange, chain, latency)
+                    .doOnError(primaryError::set);
+            Mono<CapturedResponse> hedge = Mono.delay(delay)
+                    .filter(tick -> {
+                        if (budget.tryWithdraw()) {
+                            sent.increment();
+                            return true;
+                        }
+                        denied.increment();
+                        return false;
+                    })
+                    .flatMap(tick -> attempt(exchange, chain, latency))
+                    .doOnNext(captured -> won.increment());
+
+            ServerHttpResponse response = exchange.getResponse();
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class,
+                            e -> primaryError.get() != null ? primaryError.get() : e)
+                    .flatMap(captured -> captured.writeTo(response));
+        }, ORDER);
+    }
+
+    private static Mono<CapturedResponse> attempt(ServerWebExchange exchange, GatewayFilterChain chain,
+                                                  LatencyPercentile latency) {
+        return Mono.defer(() -> {
+            AttemptExchange attempt = new AttemptExchange(exchange);
+            long start = System.nanoTime();
+            return chain.filter(DeadlineGatewayFilterFactory.withRemainingBudget(attempt))
+                    .then(Mono.fromSupplier(() -> {
+                        latency.record(System.nanoTime() - start);
+                        return attempt.response.toCapturedResponse();
+                    }));
+        });
+    }
+
+    private Counter counter(String name, String route) {
+        return Counter.builder(name).tag("route", route).register(meterRegistry);
+    }
+
+    /**
+     * The client exchange with a private response and attribute map, so concurrent attempts do not see each
+     * other's routing state (request URL, chosen instance, client connection).
+     */
+    private static final class AttemptExchange extends ServerWebExchangeDecorator {
+
+        private final CapturingServerHttpResponse response = new CapturingServerHttpResponse();
+        private final Map<String, Object> attributes;
+
+        AttemptExchange(ServerWebExchange delegate) {
+            super(delegate);
+            this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+            Set<?> originalUrls = delegate.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+            if (originalUrls != null) {
+                attributes.put(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR,
+                        new LinkedHashSet<>(originalUrls));
+            }
+        }
+
+        @Override
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private double budgetPercent = 10;
+        private int budgetBurst = 20;
+        private String routeId;
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+
+        public int getBudgetBurst() {
+            return budgetBurst;
+        }
+
+        public void setBudgetBurst(int budgetBurst) {
+            this.budgetBurst = budgetBurst;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -1,39 +1,81 @@
 package com.pms.apigateway.filter;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+
+import com.pms.apigateway.exception.AuthServiceUnavailableException;
+import com.pms.apigateway.security.IdentityHeaders;
+import com.pms.apigateway.security.RouteAuthorizationMatrix;
+import com.pms.apigateway.security.TokenValidationService;
+
+import reactor.core.publisher.Mono;
 
 @Component
 public class JwtValidationGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
 
-    private final WebClient webClient;
+    /**
+     * Ahead of the filters that buffer response bodies (which must wrap NettyWriteResponseFilter), so that
+     * they only ever see authenticated requests with trusted identity headers.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 4;
+
+    /**
+     * Exchange attribute holding the accepted {@link com.pms.apigateway.security.TokenValidationResult}.
+     */
+    public static final String CALLER_ATTR = JwtValidationGatewayFilterFactory.class.getName() + ".caller";
+
+    private final TokenValidationService tokenValidationService;
+    private final RouteAuthorizationMatrix routeAuthorizationMatrix;
 
-    public JwtValidationGatewayFilterFactory(WebClient.Builder webClientBuilder, @Value("${auth.service.url}") String authServiceUrl) {
-        this.webClient = webClientBuilder.baseUrl(authServiceUrl).build();
+    public JwtValidationGatewayFilterFactory(TokenValidationService tokenValidationService,
+                                             RouteAuthorizationMatrix routeAuthorizationMatrix) {
+        this.tokenValidationService = tokenValidationService;
+        this.routeAuthorizationMatrix = routeAuthorizationMatrix;
     }
 
     @Override
     public GatewayFilter apply(Object object) {
-        return (exchange, chain) -> {
-      String token =
-          exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-
-      if(token == null || !token.startsWith("Bearer ")) {
-        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-        return exchange.getResponse().setComplete();
-      }
-
-      return webClient.get()
-          .uri("/validate")
-          .header(HttpHeaders.AUTHORIZATION, token)
-          .retrieve()
-          .toBodilessEntity()
-          .then(chain.filter(exchange));
-    };
-  }
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String token =
+                    exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+            if (token == null || !token.startsWith("Bearer ")) {
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+
+            return tokenValidationService.validate(token.substring(7))
+                    .onErrorResume(AuthServiceUnavailableException.class, e -> {
+                        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                        if (e.getRetryAfter() != null) {
+                            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, e.getRetryAfter());
+                        }
+                        return exchange.getResponse().setComplete().then(Mono.empty());
+                    })
+                    .flatMap(result -> {
+                        if (!result.isValid()) {
+                            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                            return exchange.getResponse().setComplete();
+                        }
+                        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                        if (!routeAuthorizationMatrix.isAllowed(route != null ? route.getId() : null,
+                                exchange.getRequest().getMethod(),
+                                exchange.getRequest().getPath().pathWithinApplication(), result.role())) {
+                            exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+                            return exchange.getResponse().setComplete();
+                        }
+                        exchange.getAttributes().put(CALLER_ATTR, result);
+                        return chain.filter(exchange.mutate()
+                                .request(request -> request.headers(headers -> IdentityHeaders.apply(headers, result)))
+                                .build());
+                    });
+        }, ORDER);
+    }
 }
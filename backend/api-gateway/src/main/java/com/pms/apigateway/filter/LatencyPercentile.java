@@ -0,0 +1,46 @@
+package com.pms.apigateway.filter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate latency percentile over the most recent samples. Samples go into a fixed ring without
+ * locking; the percentile is recomputed from a sorted copy every {@code RECOMPUTE_EVERY} samples, so
+ * reads are a single volatile load.
+ */
+class LatencyPercentile {
+
+    private static final int SIZE = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final long[] samples = new long[SIZE];
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private volatile long valueNanos = -1;
+
+    LatencyPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples[(int) (n % SIZE)] = nanos;
+        if ((n + 1) % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(n + 1, SIZE));
+        }
+    }
+
+    /**
+     * The current percentile in nanoseconds, or -1 until enough samples have been seen.
+     */
+    long valueNanos() {
+        return valueNanos;
+    }
+
+    private void recompute(int filled) {
+        long[] sorted = Arrays.copyOf(samples, filled);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * filled) - 1;
+        valueNanos = sorted[Math.max(0, Math.min(filled - 1, index))];
+    }
+}
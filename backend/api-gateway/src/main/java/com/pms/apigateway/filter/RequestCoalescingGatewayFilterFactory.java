@@ -0,0 +1,81 @@
+package com.pms.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import com.pms.apigateway.security.IdentityHeaders;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collapses identical concurrent GETs (same path, query, Accept and role) into a single upstream call.
+ * The first request goes downstream and its buffered response is replayed to every request that arrived
+ * while it was in flight. Runs after JwtValidation and ResponseCache, so the role header is trusted and only
+ * cache misses are coalesced.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    public static final int ORDER = ResponseCacheGatewayFilterFactory.ORDER + 1;
+
+    private final ConcurrentHashMap<String, Sinks.One<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter joined;
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        this.joined = Counter.builder("gateway.coalescing.joined").register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = key(request);
+            Sinks.One<CapturedResponse> sink = Sinks.one();
+            Sinks.One<CapturedResponse> leader = inFlight.putIfAbsent(key, sink);
+            if (leader != null) {
+                joined.increment();
+                // If the leading call fails or streams, this request simply goes downstream on its own
+                return leader.asMono()
+                        .flatMap(captured -> captured.writeTo(exchange.getResponse()))
+                        .onErrorResume(e -> chain.filter(exchange));
+            }
+
+            BufferingResponseDecorator response = new BufferingResponseDecorator(exchange.getResponse(),
+                    (captured, buffering) -> {
+                        sink.tryEmitValue(captured);
+                        return buffering.writeBody(captured.body());
+                    },
+                    // Streaming responses cannot be replayed; let waiting requests go downstream themselves
+                    () -> sink.tryEmitError(new IllegalStateException("Streaming response cannot be coalesced")));
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, sink);
+                        sink.tryEmitError(new IllegalStateException("Coalesced request produced no response"));
+                    });
+        }, ORDER);
+    }
+
+    /**
+     * Requests with the same key get the same response: role, Accept, path and query.
+     */
+    static String key(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.getFirst(IdentityHeaders.ROLE) + ' '
+                + headers.getFirst(HttpHeaders.ACCEPT) + ' '
+                + request.getURI().getRawPath() + '?'
+                + request.getURI().getRawQuery();
+    }
+}
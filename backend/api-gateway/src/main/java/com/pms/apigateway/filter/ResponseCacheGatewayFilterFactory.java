@@ -0,0 +1,218 @@
+package com.pms.apigateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Opt-in per-route cache of successful GET responses, keyed by role, Accept, path and query.
+ * Cached responses carry an ETag (the upstream one, or a hash of the body) and a matching If-None-Match
+ * is answered with 304 and no body. A route's entries are dropped after any successful write through that
+ * route (except {@code readOnlyPaths}) and whenever one of its {@code invalidatedBy} Kafka topics has an event.
+ * Runs right after JwtValidation, so the role header is trusted, and before NettyWriteResponseFilter so the
+ * body passes through it.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final int ORDER = JwtValidationGatewayFilterFactory.ORDER + 1;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteCache> routeCaches = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Drop every entry of the routes that listen to the given topic.
+     */
+    public void invalidate(String topic) {
+        routeCaches.values().forEach(routeCache -> {
+            if (routeCache.invalidatedBy().contains(topic)) {
+                routeCache.cache().invalidateAll();
+            }
+        });
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Cache<String, CapturedResponse> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        String route = String.valueOf(config.getRouteId());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response-cache", "route", route);
+        routeCaches.put(route, new RouteCache(cache, Set.copyOf(config.getInvalidatedBy())));
+        List<PathPattern> readOnlyPaths = config.getReadOnlyPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                PathContainer path = request.getPath().pathWithinApplication();
+                if (readOnlyPaths.stream().anyMatch(pattern -> pattern.matches(path))) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange).doOnSuccess(done -> {
+                    if (exchange.getResponse().getStatusCode() != null
+                            && exchange.getResponse().getStatusCode().is2xxSuccessful()) {
+                        cache.invalidateAll();
+                    }
+                });
+            }
+
+            String key = RequestCoalescingGatewayFilterFactory.key(request);
+            String requestCacheControl = request.getHeaders().getCacheControl();
+            if (requestCacheControl == null || !requestCacheControl.contains("no-cache")) {
+                CapturedResponse cached = cache.getIfPresent(key);
+                if (cached != null) {
+                    return write(request, exchange.getResponse(), cached);
+                }
+            }
+
+            BufferingResponseDecorator response = new BufferingResponseDecorator(exchange.getResponse(),
+                    (captured, buffering) -> {
+                        if (!isCacheable(captured)) {
+                            return buffering.writeBody(captured.body());
+                        }
+                        String etag = captured.headers().getETag();
+                        if (etag == null) {
+                            etag = etagFor(captured.body());
+                            captured.headers().setETag(etag);
+                            buffering.getHeaders().setETag(etag);
+                        }
+                        cache.put(key, captured);
+                        if (notModified(request, etag)) {
+                            buffering.setStatusCode(HttpStatus.NOT_MODIFIED);
+                            buffering.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                            return buffering.getDelegate().setComplete();
+                        }
+                        return buffering.writeBody(captured.body());
+                    },
+                    () -> { });
+            return chain.filter(exchange.mutate().response(response).build());
+        }, ORDER);
+    }
+
+    private static Mono<Void> write(ServerHttpRequest request, ServerHttpResponse response, CapturedResponse cached) {
+        String etag = cached.headers().getETag();
+        if (notModified(request, etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            return response.setComplete();
+        }
+        return cached.writeTo(response);
+    }
+
+    private static boolean isCacheable(CapturedResponse captured) {
+        String cacheControl = captured.headers().getCacheControl();
+        return captured.status().value() == HttpStatus.OK.value()
+                && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+    }
+
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String etagFor(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record RouteCache(Cache<String, CapturedResponse> cache, Set<String> invalidatedBy) {
+    }
+
+    public static class Config implements HasRouteId {
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maximumSize = 1000;
+        private List<String> invalidatedBy = new ArrayList<>();
+        // Non-GET paths that only read (e.g. POST searches) and must not flush the cache
+        private List<String> readOnlyPaths = new ArrayList<>();
+        private String routeId;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public List<String> getInvalidatedBy() {
+            return invalidatedBy;
+        }
+
+        public void setInvalidatedBy(List<String> invalidatedBy) {
+            this.invalidatedBy = invalidatedBy;
+        }
+
+        public List<String> getReadOnlyPaths() {
+            return readOnlyPaths;
+        }
+
+        public void setReadOnlyPaths(List<String> readOnlyPaths) {
+            this.readOnlyPaths = readOnlyPaths;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.pms.apigateway.filter;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached gateway responses when inmate-service announces a change. Every gateway instance uses its
+ * own consumer group, named after {@code gateway.instance-id}, so each one clears its own cache.
+ */
+@Component
+public class ResponseCacheInvalidationListener {
+
+    private final ResponseCacheGatewayFilterFactory responseCache;
+
+    public ResponseCacheInvalidationListener(ResponseCacheGatewayFilterFactory responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @KafkaListener(topics = {"inmate.admitted", "inmate.updated", "inmate.released", "inmate.transferred",
+            "inmate.deleted"},
+            groupId = "api-gateway-response-cache-${gateway.instance-id}")
+    public void onInmateChanged(ConsumerRecord<String, String> record) {
+        responseCache.invalidate(record.topic());
+    }
+}
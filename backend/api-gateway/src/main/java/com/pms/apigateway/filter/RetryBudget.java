@@ -0,0 +1,38 @@
+package com.pms.apigateway.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that keeps extra downstream attempts (hedges, retries) to a percentage of regular traffic.
+ * Every regular request deposits {@code percent / 100} of a token, every extra attempt spends a whole one,
+ * and the balance is capped so a quiet period cannot bank an unbounded burst.
+ */
+class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    RetryBudget(double percent, int maxBurst) {
+        this.depositPerRequest = Math.round(TOKEN * percent / 100);
+        this.maxBalance = TOKEN * maxBurst;
+    }
+
+    void deposit() {
+        balance.getAndUpdate(current -> Math.min(maxBalance, current + depositPerRequest));
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
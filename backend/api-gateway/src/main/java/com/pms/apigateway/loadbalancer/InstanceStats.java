@@ -0,0 +1,156 @@
+package com.pms.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Tracks outstanding requests and consecutive failures per service instance for the gateway's load balancer.
+ * An instance that fails {@code consecutive-failures} times in a row (5xx or connection error) is ejected for
+ * base-ejection-time multiplied by how often it has been ejected, capped at max-ejection-time.
+ *
+ * <p>Registered as a {@link LoadBalancerLifecycle} so the gateway reports the outcome of every routed request
+ * here. The lifecycle is not told about cancelled requests (a losing hedge leg, an expired deadline, a
+ * timeout, a client disconnect), so the outstanding count is kept by {@link OutstandingRequestFilter} through
+ * {@link #track}, which releases it on every termination signal.
+ */
+@Component
+public class InstanceStats implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceStats.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int consecutiveFailures;
+    private final long baseEjectionMillis;
+    private final long maxEjectionMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public InstanceStats(MeterRegistry meterRegistry,
+                         @Value("${gateway.loadbalancer.outlier.consecutive-failures:5}") int consecutiveFailures,
+                         @Value("${gateway.loadbalancer.outlier.base-ejection-time:PT30S}") Duration baseEjectionTime,
+                         @Value("${gateway.loadbalancer.outlier.max-ejection-time:PT5M}") Duration maxEjectionTime) {
+        this.meterRegistry = meterRegistry;
+        this.consecutiveFailures = consecutiveFailures;
+        this.baseEjectionMillis = baseEjectionTime.toMillis();
+        this.maxEjectionMillis = maxEjectionTime.toMillis();
+    }
+
+    public int outstanding(ServiceInstance instance) {
+        return entry(instance).outstanding.get();
+    }
+
+    public boolean isEjected(ServiceInstance instance) {
+        return entry(instance).ejectedUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * Counts {@code call} as outstanding on {@code instance} from subscription until it completes, fails or is
+     * cancelled.
+     */
+    public <T> Mono<T> track(ServiceInstance instance, Mono<T> call) {
+        return Mono.defer(() -> {
+            AtomicInteger outstanding = entry(instance).outstanding;
+            outstanding.incrementAndGet();
+            return call.doFinally(signal -> outstanding.decrementAndGet());
+        });
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        Entry entry = entry(lbResponse.getServer());
+        if (isFailure(completionContext)) {
+            onFailure(lbResponse.getServer(), entry);
+        } else {
+            entry.consecutiveFailures.set(0);
+            if (entry.ejectedUntil <= System.currentTimeMillis()) {
+                entry.ejections = 0;
+            }
+        }
+    }
+
+    private static boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        if (completionContext.getClientResponse() instanceof ResponseData responseData) {
+            HttpStatusCode status = responseData.getHttpStatus();
+            return status != null && status.is5xxServerError();
+        }
+        return false;
+    }
+
+    private void onFailure(ServiceInstance instance, Entry entry) {
+        if (entry.consecutiveFailures.incrementAndGet() < consecutiveFailures) {
+            return;
+        }
+        synchronized (entry) {
+            long now = System.currentTimeMillis();
+            if (entry.ejectedUntil > now) {
+                return;
+            }
+            entry.ejections++;
+            entry.ejectedUntil = now + Math.min(maxEjectionMillis, baseEjectionMillis * entry.ejections);
+            entry.consecutiveFailures.set(0);
+        }
+        entry.ejected.increment();
+        log.warn("Ejecting {} instance {}:{} after {} consecutive failures", instance.getServiceId(),
+                instance.getHost(), instance.getPort(), consecutiveFailures);
+    }
+
+    private Entry entry(ServiceInstance instance) {
+        String instanceTag = instance.getHost() + ":" + instance.getPort();
+        return entries.computeIfAbsent(instance.getServiceId() + "/" + instanceTag, key -> {
+            Entry entry = new Entry(Counter.builder("gateway.lb.ejections")
+                    .tag("service", instance.getServiceId())
+                    .tag("instance", instanceTag)
+                    .register(meterRegistry));
+            Gauge.builder("gateway.lb.outstanding", entry.outstanding, AtomicInteger::get)
+                    .tag("service", instance.getServiceId())
+                    .tag("instance", instanceTag)
+                    .register(meterRegistry);
+            return entry;
+        });
+    }
+
+    private static final class Entry {
+        final AtomicInteger outstanding = new AtomicInteger();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final Counter ejected;
+        volatile long ejectedUntil;
+        volatile int ejections;
+
+        Entry(Counter ejected) {
+            this.ejected = ejected;
+        }
+    }
+}
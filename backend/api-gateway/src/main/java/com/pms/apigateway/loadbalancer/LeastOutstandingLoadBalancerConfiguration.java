@@ -0,0 +1,33 @@
+package com.pms.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer beans. Deliberately not a @Configuration: it is instantiated in each service's
+ * child context through {@code @LoadBalancerClients(defaultConfiguration = ...)}.
+ */
+public class LeastOutstandingLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier healthCheckingServiceInstanceListSupplier(
+            ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withHealthChecks()
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> leastOutstandingLoadBalancer(
+            Environment environment, LoadBalancerClientFactory clientFactory, InstanceStats instanceStats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastOutstandingLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), instanceStats);
+    }
+}
@@ -0,0 +1,32 @@
+package com.pms.apigateway.security;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Trusted identity headers the gateway forwards to backend services after validating the JWT.
+ * Any client-supplied values are removed first so services can rely on them without parsing tokens.
+ */
+public final class IdentityHeaders {
+
+    public static final String USER = "X-User";
+    public static final String ROLE = "X-Role";
+    public static final String TOKEN_ID = "X-Token-Id";
+
+    private IdentityHeaders() {
+    }
+
+    public static void apply(HttpHeaders headers, TokenValidationResult result) {
+        headers.remove(USER);
+        headers.remove(ROLE);
+        headers.remove(TOKEN_ID);
+        if (result.subject() != null) {
+            headers.set(USER, result.subject());
+        }
+        if (result.role() != null) {
+            headers.set(ROLE, result.role());
+        }
+        if (result.tokenId() != null) {
+            headers.set(TOKEN_ID, result.tokenId());
+        }
+    }
+}
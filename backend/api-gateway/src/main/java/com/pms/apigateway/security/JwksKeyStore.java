@@ -0,0 +1,94 @@
+package com.pms.apigateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Caches the auth-service JWKS as ready-to-use parsers keyed by kid. The set is refreshed periodically
+ * and, rate limited, whenever a token arrives signed with a kid we have not seen yet.
+ */
+@Component
+public class JwksKeyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyStore.class);
+
+    private final WebClient webClient;
+    private final long minRefreshIntervalMillis;
+    private final AtomicLong lastRefreshAttempt = new AtomicLong();
+    private volatile Map<String, JwtParser> parsers = Map.of();
+
+    public JwksKeyStore(WebClient.Builder webClientBuilder,
+                        @Value("${auth.service.url}") String authServiceUrl,
+                        @Value("${auth.jwks.min-refresh-interval-ms:30000}") long minRefreshIntervalMillis) {
+        this.webClient = webClientBuilder.baseUrl(authServiceUrl).build();
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    }
+
+    public JwtParser parserFor(String kid) {
+        return parsers.get(kid);
+    }
+
+    /**
+     * Trigger a background refresh after an unknown kid, at most once per min-refresh-interval.
+     */
+    public void refreshOnUnknownKey() {
+        long now = System.currentTimeMillis();
+        long last = lastRefreshAttempt.get();
+        if (now - last >= minRefreshIntervalMillis && lastRefreshAttempt.compareAndSet(last, now)) {
+            refresh();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.jwks.refresh-interval:PT10M}",
+            initialDelayString = "${auth.jwks.refresh-interval:PT10M}")
+    public void refresh() {
+        lastRefreshAttempt.set(System.currentTimeMillis());
+        webClient.get()
+                .uri("/.well-known/jwks.json")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .subscribe(this::update, e -> log.warn("Failed to refresh JWKS: {}", e.getMessage()));
+    }
+
+    private void update(JsonNode jwks) {
+        Map<String, JwtParser> updated = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                PublicKey key = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                        new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("n").asText())),
+                        new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("e").asText()))));
+                updated.put(jwk.get("kid").asText(), Jwts.parser().verifyWith(key).build());
+            } catch (GeneralSecurityException | RuntimeException e) {
+                log.warn("Skipping unusable JWK {}: {}", jwk.path("kid").asText(), e.getMessage());
+            }
+        }
+        parsers = Map.copyOf(updated);
+        log.info("Loaded {} signing keys from JWKS", updated.size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.pms.apigateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies JWT signatures and expiry in-process, so the gateway does not need a network round trip per request.
+ * Tokens carrying a kid are checked against the auth-service JWKS; tokens without one fall back to the
+ * shared HMAC secret when it is configured.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JwksKeyStore jwksKeyStore;
+    private final JwtParser hmacParser;
+
+    public JwtVerifier(JwksKeyStore jwksKeyStore, @Value("${jwt.secret:}") String secret) {
+        this.jwksKeyStore = jwksKeyStore;
+        if (secret == null || secret.isBlank()) {
+            this.hmacParser = null;
+        } else {
+            byte[] keyBytes = Base64.getDecoder()
+                    .decode(secret.getBytes(StandardCharsets.UTF_8));
+            this.hmacParser = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(keyBytes))
+                    .build();
+        }
+    }
+
+    /**
+     * Verify signature and exp locally. Returns UNDECIDED when no key for the token is known.
+     */
+    public TokenValidationResult verify(String token) {
+        String kid = readKeyId(token);
+        JwtParser parser = kid != null ? jwksKeyStore.parserFor(kid) : hmacParser;
+        if (parser == null) {
+            if (kid != null) {
+                jwksKeyStore.refreshOnUnknownKey();
+            }
+            return TokenValidationResult.UNDECIDED;
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return TokenValidationResult.valid(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.getId(),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidationResult.INVALID;
+        }
+    }
+
+    private String readKeyId(String token) {
+        try {
+            int end = token.indexOf('.');
+            JsonNode header = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(token.substring(0, end)));
+            return header.path("kid").asText(null);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read claims without checking the signature. Only to be used for tokens auth-service has already accepted.
+     */
+    public TokenValidationResult readTrustedClaims(String token) {
+        try {
+            String[] parts = token.split("\\.");
+            JsonNode payload = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            return TokenValidationResult.valid(
+                    payload.path("sub").asText(null),
+                    payload.path("role").asText(null),
+                    payload.path("jti").asText(null),
+                    payload.has("exp") ? Instant.ofEpochSecond(payload.get("exp").asLong()) : null);
+        } catch (IOException | RuntimeException e) {
+            return TokenValidationResult.valid(null, null, null, null);
+        }
+    }
+}
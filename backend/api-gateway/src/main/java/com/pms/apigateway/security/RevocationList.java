@@ -0,0 +1,110 @@
+package com.pms.apigateway.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revoked token ids (jti) held as a Bloom filter in front of an exact set. The common case, a token that
+ * was never revoked, is answered by the filter with a handful of array reads and no allocation; only
+ * filter hits (revoked tokens and rare false positives) consult the exact set.
+ */
+@Component
+public class RevocationList {
+
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final int bitCount;
+    private volatile BloomFilter filter;
+
+    public RevocationList(@Value("${auth.revocation.expected-entries:100000}") int expectedEntries) {
+        // ~10 bits per entry with 7 hash functions gives about 1% false positives at capacity
+        this.bitCount = Integer.highestOneBit(Math.max(64, expectedEntries * 10 - 1)) << 1;
+        this.filter = new BloomFilter(bitCount);
+    }
+
+    public void revoke(String tokenId, long expiresAtEpochSecond) {
+        revoked.put(tokenId, expiresAtEpochSecond);
+        filter.add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Drop revocations for tokens that have expired anyway and rebuild the filter from what remains,
+     * since entries cannot be removed from a Bloom filter.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval:PT5M}")
+    public synchronized void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt < now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(bitCount);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // Revocations that raced with the rebuild may have landed in the old filter only
+        revoked.keySet().forEach(rebuilt::add);
+    }
+
+    static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final int mask;
+
+        BloomFilter(int bitCount) {
+            this.bits = new AtomicLongArray(bitCount >>> 6);
+            this.mask = bitCount - 1;
+        }
+
+        void add(String value) {
+            long h1 = hash(value, 0xcbf29ce484222325L);
+            long h2 = hash(value, 0x84222325cbf29ce4L) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                long word = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(bit >>> 6);
+                } while ((current & word) == 0 && !bits.compareAndSet(bit >>> 6, current, current | word));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h1 = hash(value, 0xcbf29ce484222325L);
+            long h2 = hash(value, 0x84222325cbf29ce4L) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the UTF-16 chars followed by the murmur3 finalizer; reads the string in place
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
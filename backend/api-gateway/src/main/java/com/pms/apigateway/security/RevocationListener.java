@@ -0,0 +1,42 @@
+package com.pms.apigateway.security;
+
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds token revocations published by auth-service into the local {@link RevocationList}.
+ * Every gateway instance uses its own consumer group so each one sees every revocation, and replays the
+ * topic from the start on assignment: the list lives in memory, and the topic is retained slightly longer
+ * than a token lives, so the replay restores every revocation that still matters.
+ */
+@Component
+public class RevocationListener implements ConsumerSeekAware {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationListener.class);
+
+    private final RevocationList revocationList;
+
+    public RevocationListener(RevocationList revocationList) {
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    @KafkaListener(topics = "auth.token.revoked", groupId = "api-gateway-revocations-${gateway.instance-id}")
+    public void onRevocation(ConsumerRecord<String, String> record) {
+        try {
+            revocationList.revoke(record.key(), Long.parseLong(record.value()));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed revocation record {}: {}", record.key(), e.getMessage());
+        }
+    }
+}
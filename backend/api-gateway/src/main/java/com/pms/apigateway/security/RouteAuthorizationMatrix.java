@@ -0,0 +1,119 @@
+package com.pms.apigateway.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * The authorization rules compiled into a flat table of role bitmasks indexed by (route, method).
+ * A decision is two map lookups and a bit test. Routes without any rule are open to every
+ * authenticated caller; on a governed route, a method without a rule is denied.
+ *
+ * <p>Rules that list paths are kept apart and checked first, in declaration order: the first one matching the
+ * route, method and path decides. They let a read that has to use POST (e.g. /api/inmates/filter) follow the
+ * read roles instead of the route's write roles.
+ */
+@Component
+@EnableConfigurationProperties(RouteAuthorizationProperties.class)
+public class RouteAuthorizationMatrix {
+
+    private static final List<HttpMethod> METHODS = List.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.POST,
+            HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE, HttpMethod.OPTIONS, HttpMethod.TRACE);
+
+    private final Map<String, Long> roleBits = new HashMap<>();
+    private final Map<String, Integer> routeIndex = new HashMap<>();
+    private final Map<HttpMethod, Integer> methodIndex = new HashMap<>();
+    private final long[] table;
+    private final List<PathRule> pathRules = new ArrayList<>();
+
+    public RouteAuthorizationMatrix(RouteAuthorizationProperties properties) {
+        List<String> roles = properties.getRoles();
+        if (roles.size() > Long.SIZE) {
+            throw new IllegalStateException("At most " + Long.SIZE + " roles are supported");
+        }
+        for (int i = 0; i < roles.size(); i++) {
+            roleBits.put(roles.get(i), 1L << i);
+        }
+        for (int i = 0; i < METHODS.size(); i++) {
+            methodIndex.put(METHODS.get(i), i);
+        }
+        for (RouteAuthorizationProperties.Rule rule : properties.getRules()) {
+            routeIndex.putIfAbsent(rule.getRoute(), routeIndex.size());
+        }
+
+        table = new long[routeIndex.size() * METHODS.size()];
+        for (RouteAuthorizationProperties.Rule rule : properties.getRules()) {
+            long mask = 0;
+            for (String role : rule.getRoles()) {
+                Long bit = roleBits.get(role);
+                if (bit == null) {
+                    throw new IllegalStateException("Rule for route " + rule.getRoute() + " uses undeclared role " + role);
+                }
+                mask |= bit;
+            }
+            int route = routeIndex.get(rule.getRoute());
+            if (!rule.getPaths().isEmpty()) {
+                long[] masks = new long[METHODS.size()];
+                fill(masks, 0, rule, mask);
+                for (String path : rule.getPaths()) {
+                    pathRules.add(new PathRule(route, PathPatternParser.defaultInstance.parse(path), masks));
+                }
+                continue;
+            }
+            fill(table, route * METHODS.size(), rule, mask);
+        }
+    }
+
+    private void fill(long[] masks, int base, RouteAuthorizationProperties.Rule rule, long mask) {
+        for (String method : rule.getMethods()) {
+            if ("*".equals(method)) {
+                for (int m = 0; m < METHODS.size(); m++) {
+                    masks[base + m] |= mask;
+                }
+            } else {
+                Integer m = methodIndex.get(HttpMethod.valueOf(method));
+                if (m == null) {
+                    throw new IllegalStateException("Unsupported method " + method + " in rule for route " + rule.getRoute());
+                }
+                masks[base + m] |= mask;
+            }
+        }
+    }
+
+    public boolean isAllowed(String routeId, HttpMethod method, String role) {
+        return isAllowed(routeId, method, null, role);
+    }
+
+    /**
+     * @param path the public /api/... request path, or null to apply only the route-wide rules
+     */
+    public boolean isAllowed(String routeId, HttpMethod method, PathContainer path, String role) {
+        Integer route = routeId != null ? routeIndex.get(routeId) : null;
+        if (route == null) {
+            return true;
+        }
+        Integer m = methodIndex.get(method);
+        Long bit = role != null ? roleBits.get(role) : null;
+        if (m == null || bit == null) {
+            return false;
+        }
+        if (path != null) {
+            for (PathRule rule : pathRules) {
+                if (rule.route() == route && rule.masks()[m] != 0 && rule.pattern().matches(path)) {
+                    return (rule.masks()[m] & bit) != 0;
+                }
+            }
+        }
+        return (table[route * METHODS.size() + m] & bit) != 0;
+    }
+
+    private record PathRule(int route, PathPattern pattern, long[] masks) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.pms.apigateway.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Declarative per-route, per-method role rules (gateway.authorization.*).
+ */
+@ConfigurationProperties(prefix = "gateway.authorization")
+public class RouteAuthorizationProperties {
+
+    private List<String> roles = new ArrayList<>();
+    private List<Rule> rules = new ArrayList<>();
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+        private String route;
+        private List<String> methods = new ArrayList<>();
+        private List<String> roles = new ArrayList<>();
+        // Optional /api/... path patterns; the rule then only applies to those paths and overrides route-wide rules
+        private List<String> paths = new ArrayList<>();
+
+        public String getRoute() {
+            return route;
+        }
+
+        public void setRoute(String route) {
+            this.route = route;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.pms.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded (W-TinyLFU) cache of token validation results keyed by a SHA-256 of the token.
+ * Valid results live until the token's exp or max-ttl, whichever comes first; rejections for negative-ttl.
+ * Hit/miss/eviction counters are published as cache.* metrics under the name "gateway.token-validation".
+ */
+@Component
+public class TokenValidationCache {
+
+    private final Cache<String, TokenValidationResult> cache;
+    private final long maxTtlNanos;
+    private final long negativeTtlNanos;
+
+    public TokenValidationCache(MeterRegistry meterRegistry,
+                                @Value("${auth.validation.cache.maximum-size:10000}") long maximumSize,
+                                @Value("${auth.validation.cache.max-ttl:PT1H}") Duration maxTtl,
+                                @Value("${auth.validation.cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, TokenValidationResult>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenValidationResult value, long currentTime) {
+                        return timeToLive(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenValidationResult value, long currentTime,
+                                                  long currentDuration) {
+                        return timeToLive(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenValidationResult value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.token-validation");
+    }
+
+    public TokenValidationResult get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, TokenValidationResult result) {
+        if (result.status() != TokenValidationResult.Status.UNDECIDED) {
+            cache.put(key, result);
+        }
+    }
+
+    public String keyFor(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private long timeToLive(TokenValidationResult value) {
+        if (!value.isValid()) {
+            return negativeTtlNanos;
+        }
+        if (value.expiresAt() == null) {
+            return maxTtlNanos;
+        }
+        long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+        return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+    }
+}
@@ -0,0 +1,29 @@
+package com.pms.apigateway.security;
+
+import java.time.Instant;
+
+/**
+ * Outcome of validating a bearer token, together with the claims the gateway cares about.
+ * UNDECIDED means the local verifier could not make a decision (e.g. no key material)
+ * and the remote check in auth-service should be consulted.
+ */
+public record TokenValidationResult(Status status, String subject, String role, String tokenId, Instant expiresAt) {
+
+    public enum Status {
+        VALID,
+        INVALID,
+        UNDECIDED
+    }
+
+    public static final TokenValidationResult INVALID = new TokenValidationResult(Status.INVALID, null, null, null, null);
+
+    public static final TokenValidationResult UNDECIDED = new TokenValidationResult(Status.UNDECIDED, null, null, null, null);
+
+    public static TokenValidationResult valid(String subject, String role, String tokenId, Instant expiresAt) {
+        return new TokenValidationResult(Status.VALID, subject, role, tokenId, expiresAt);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
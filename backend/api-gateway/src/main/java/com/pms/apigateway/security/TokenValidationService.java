@@ -0,0 +1,88 @@
+package com.pms.apigateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.pms.apigateway.exception.AuthServiceUnavailableException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides whether a bearer token is acceptable. Tokens are verified locally when key material is
+ * available; the auth-service /validate call is only used as a fallback (or when local validation is off).
+ */
+@Service
+public class TokenValidationService {
+
+    private final JwtVerifier jwtVerifier;
+    private final TokenValidationCache cache;
+    private final RevocationList revocationList;
+    private final WebClient webClient;
+    private final boolean localValidationEnabled;
+    private final boolean remoteFallbackEnabled;
+
+    public TokenValidationService(JwtVerifier jwtVerifier,
+                                  TokenValidationCache cache,
+                                  RevocationList revocationList,
+                                  WebClient.Builder webClientBuilder,
+                                  @Value("${auth.service.url}") String authServiceUrl,
+                                  @Value("${auth.validation.local-enabled:true}") boolean localValidationEnabled,
+                                  @Value("${auth.validation.remote-fallback-enabled:true}") boolean remoteFallbackEnabled) {
+        this.jwtVerifier = jwtVerifier;
+        this.cache = cache;
+        this.revocationList = revocationList;
+        this.webClient = webClientBuilder.baseUrl(authServiceUrl).build();
+        this.localValidationEnabled = localValidationEnabled;
+        this.remoteFallbackEnabled = remoteFallbackEnabled;
+    }
+
+    /**
+     * Fails with {@link AuthServiceUnavailableException} when the token needed auth-service and it could not
+     * answer.
+     */
+    public Mono<TokenValidationResult> validate(String token) {
+        String key = cache.keyFor(token);
+        TokenValidationResult cached = cache.get(key);
+        if (cached != null) {
+            return Mono.just(checkRevocation(cached));
+        }
+        return validateUncached(token)
+                .doOnNext(result -> cache.put(key, result))
+                .map(this::checkRevocation);
+    }
+
+    // Revocation is checked on every request, cached or not, so a revoked token stops working immediately
+    private TokenValidationResult checkRevocation(TokenValidationResult result) {
+        return result.isValid() && revocationList.isRevoked(result.tokenId()) ? TokenValidationResult.INVALID : result;
+    }
+
+    private Mono<TokenValidationResult> validateUncached(String token) {
+        if (!localValidationEnabled) {
+            return validateRemotely(token);
+        }
+
+        TokenValidationResult result = jwtVerifier.verify(token);
+        if (result.status() != TokenValidationResult.Status.UNDECIDED) {
+            return Mono.just(result);
+        }
+        return remoteFallbackEnabled ? validateRemotely(token) : Mono.just(TokenValidationResult.INVALID);
+    }
+
+    private Mono<TokenValidationResult> validateRemotely(String token) {
+        return webClient.get()
+                .uri("/validate")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .toBodilessEntity()
+                .map(response -> jwtVerifier.readTrustedClaims(token))
+                .onErrorResume(WebClientResponseException.Unauthorized.class,
+                        e -> Mono.just(TokenValidationResult.INVALID))
+                // Anything else (5xx, a saturated hashing pool, a timeout, a refused connection) is an outage
+                .onErrorMap(e -> new AuthServiceUnavailableException(e instanceof WebClientResponseException response
+                        ? response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)
+                        : null, e));
+    }
+}
@@ -0,0 +1,96 @@
+package com.pms.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void admitsOnlyTheGivenShareOfTheLimit() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100);
+
+        for (int i = 0; i < 7; i++) {
+            assertTrue(limit.tryAcquire(0.7));
+        }
+        assertFalse(limit.tryAcquire(0.7));
+        // Higher priority traffic may still use the rest of the limit
+        assertTrue(limit.tryAcquire(1.0));
+        assertEquals(8, limit.inFlight());
+    }
+
+    @Test
+    void alwaysAdmitsOneRequestWhenIdle() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(1, 1, 10);
+
+        assertTrue(limit.tryAcquire(0.1));
+        assertFalse(limit.tryAcquire(0.1));
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100);
+
+        for (int i = 0; i < 200; i++) {
+            limit.tryAcquire(1.0);
+            limit.onSample(10 * MILLIS);
+        }
+
+        assertEquals(100, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 1, 100);
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire(1.0);
+            limit.onSample(10 * MILLIS);
+        }
+        int beforeQueueing = limit.limit();
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire(1.0);
+            limit.onSample(100 * MILLIS);
+        }
+
+        assertTrue(limit.limit() < beforeQueueing, "limit " + limit.limit() + " should drop below " + beforeQueueing);
+    }
+
+    @Test
+    void dropsCutTheLimitDownToTheMinimum() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 5, 100);
+
+        limit.tryAcquire(1.0);
+        limit.onDropped();
+        assertEquals(90, limit.limit());
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire(1.0);
+            limit.onDropped();
+        }
+        assertEquals(5, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void ignoredRequestsReleaseTheirSlotWithoutMovingTheLimit() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 1, 100);
+
+        limit.tryAcquire(1.0);
+        limit.onIgnore();
+
+        assertEquals(20, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void initialLimitIsClampedToTheBounds() {
+        assertEquals(100, new GradientConcurrencyLimit(1000, 1, 100).limit());
+        assertEquals(5, new GradientConcurrencyLimit(1, 5, 100).limit());
+    }
+}
@@ -0,0 +1,76 @@
+package com.pms.apigateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class OutstandingRequestFilterTest {
+
+    private final ServiceInstance instance =
+            new DefaultServiceInstance("inmate-1", "inmate-service", "localhost", 4007, false);
+
+    private InstanceStats instanceStats;
+    private OutstandingRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        instanceStats = new InstanceStats(new SimpleMeterRegistry(), 5, Duration.ofSeconds(30), Duration.ofMinutes(5));
+        filter = new OutstandingRequestFilter(instanceStats);
+    }
+
+    @Test
+    void cancelledRequestReleasesItsOutstandingCount() {
+        GatewayFilterChain hangingUpstream = exchange -> Mono.never();
+
+        Disposable request = filter.filter(routedExchange(), hangingUpstream).subscribe();
+        assertEquals(1, instanceStats.outstanding(instance));
+
+        request.dispose();
+        assertEquals(0, instanceStats.outstanding(instance));
+    }
+
+    @Test
+    void completedAndFailedRequestsReleaseTheirOutstandingCount() {
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        filter.filter(routedExchange(), exchange -> upstream.asMono()).subscribe();
+        filter.filter(routedExchange(), exchange -> Mono.error(new IllegalStateException("refused")))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+        assertEquals(1, instanceStats.outstanding(instance));
+
+        upstream.tryEmitEmpty();
+        assertEquals(0, instanceStats.outstanding(instance));
+    }
+
+    @Test
+    void requestsWithoutAChosenInstanceAreNotCounted() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/inmates"));
+
+        filter.filter(exchange, e -> Mono.empty()).block();
+
+        assertEquals(0, instanceStats.outstanding(instance));
+        assertFalse(instanceStats.isEjected(instance));
+    }
+
+    private MockServerWebExchange routedExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/inmates"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                new DefaultResponse(instance));
+        return exchange;
+    }
+}
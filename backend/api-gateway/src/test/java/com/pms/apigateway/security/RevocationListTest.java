@@ -0,0 +1,82 @@
+package com.pms.apigateway.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class RevocationListTest {
+
+    private static long inOneHour() {
+        return Instant.now().getEpochSecond() + 3600;
+    }
+
+    @Test
+    void revokedTokensAreRejected() {
+        RevocationList list = new RevocationList(1000);
+
+        list.revoke("jti-1", inOneHour());
+
+        assertTrue(list.isRevoked("jti-1"));
+        assertFalse(list.isRevoked("jti-2"));
+        assertFalse(list.isRevoked(null));
+    }
+
+    @Test
+    void filterFalsePositivesAreResolvedByTheExactSet() {
+        // A tiny filter saturates quickly, so most lookups pass the filter and must be settled by the set
+        RevocationList list = new RevocationList(1);
+        for (int i = 0; i < 1000; i++) {
+            list.revoke("revoked-" + i, inOneHour());
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(list.isRevoked("revoked-" + i));
+            assertFalse(list.isRevoked("valid-" + i));
+        }
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositivesAtCapacity() {
+        RevocationList.BloomFilter filter = new RevocationList.BloomFilter(1 << 17);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("revoked-" + i));
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+        // About 13 bits per entry with 7 hash functions: well under 1% expected
+        assertTrue(falsePositives < 100, falsePositives + " false positives");
+    }
+
+    @Test
+    void purgeDropsExpiredRevocationsAndKeepsTheRest() {
+        RevocationList list = new RevocationList(1000);
+        list.revoke("expired", Instant.now().getEpochSecond() - 1);
+        list.revoke("live", inOneHour());
+
+        list.purgeExpired();
+
+        assertEquals(1, list.size());
+        assertFalse(list.isRevoked("expired"));
+        assertTrue(list.isRevoked("live"));
+    }
+
+    @Test
+    void revocationsAddedAfterAPurgeAreStillFound() {
+        RevocationList list = new RevocationList(1000);
+        list.revoke("expired", Instant.now().getEpochSecond() - 1);
+        list.purgeExpired();
+
+        list.revoke("jti-after", inOneHour());
+
+        assertTrue(list.isRevoked("jti-after"));
+    }
+}
@@ -0,0 +1,22 @@
+package com.pms.authservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    public static final String TOKEN_REVOKED_TOPIC = "auth.token.revoked";
+
+    @Bean
+    public NewTopic tokenRevokedTopic() {
+        // Retained slightly longer than a token lives, so a verifier that starts late can replay what it missed
+        return TopicBuilder.name(TOKEN_REVOKED_TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .config("retention.ms", String.valueOf(11L * 60 * 60 * 1000))
+                .build();
+    }
+}
@@ -1,11 +1,19 @@
 package com.pms.authservice.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -14,27 +22,32 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.pms.authservice.dto.LoginRequestDTO;
 import com.pms.authservice.dto.LoginResponseDTO;
+import com.pms.authservice.dto.TokenBatchValidationRequestDTO;
+import com.pms.authservice.dto.TokenValidationResultDTO;
+import com.pms.authservice.exception.LoginThrottledException;
+import com.pms.authservice.model.Role;
 import com.pms.authservice.service.AuthService;
 
 @RestController
 public class AuthController {
     private final AuthService authService;
+    private final int maxBatchSize;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService,
+                          @Value("${auth.validation.max-batch-size:1000}") int maxBatchSize) {
         this.authService = authService;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @Operation(summary = "Generate authentication token")
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginRequestDTO) {
-        Optional<String> tokenOptional = authService.authenticate(loginRequestDTO);
-
-        if (tokenOptional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        String token = tokenOptional.get();
-        return ResponseEntity.ok(new LoginResponseDTO(token));
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@RequestBody LoginRequestDTO loginRequestDTO,
+                                                                     HttpServletRequest request) {
+        // Async so the request thread is released while BCrypt runs on its own pool
+        return authService.authenticate(loginRequestDTO, clientIp(request))
+                .thenApply(tokenOptional -> tokenOptional
+                        .map(token -> ResponseEntity.ok(new LoginResponseDTO(token)))
+                        .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build()));
     }
 
     @Operation(summary = "Validate Token")
@@ -52,15 +65,92 @@ public class AuthController {
                 : ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    @Operation(summary = "Validate a batch of tokens and return their claims")
+    @PostMapping("/validate/batch")
+    public ResponseEntity<List<TokenValidationResultDTO>> validateTokens(
+            @RequestBody TokenBatchValidationRequestDTO request) {
+
+        List<String> tokens = request.getTokens();
+        if (tokens == null || tokens.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(authService.validateTokens(tokens));
+    }
+
+    @Operation(summary = "Revoke the current token")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader("Authorization") String authHeader) {
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return authService.logout(authHeader.substring(7))
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    @Operation(summary = "Revoke a token by id (admin only)")
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revokeToken(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestBody Map<String, String> request) {
+
+        String tokenId = request.get("tokenId");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (tokenId == null || tokenId.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return authService.revokeToken(authHeader.substring(7), tokenId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
     @Operation(summary = "Register a new user")
     @PostMapping("/register")
-    public ResponseEntity<Void> registerUser(@RequestBody com.pms.authservice.model.User user) {
-        try {
-            authService.registerUser(user);
-            return ResponseEntity.status(HttpStatus.CREATED).build();
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    public CompletableFuture<ResponseEntity<Void>> registerUser(@RequestBody com.pms.authservice.model.User user) {
+        // Any other role string would be issued in tokens but denied on every governed gateway route
+        if (!Role.isValid(user.getRole())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
+        // Async like /login: the lookup and BCrypt run on the hashing pool, not on the request thread
+        return authService.registerUser(user)
+                .thenApply(saved -> ResponseEntity.status(HttpStatus.CREATED).<Void>build())
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof IllegalArgumentException) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleHashingPoolSaturated() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
     }
 
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Void> handleLoginThrottled(LoginThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+    }
+
+    // The gateway appends the address it received the request from; clients can only prepend entries
+    private static String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            return hops[hops.length - 1].trim();
+        }
+        return request.getRemoteAddr();
+    }
 }
@@ -0,0 +1,30 @@
+package com.pms.authservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pms.authservice.security.SigningKeyManager;
+
+@RestController
+public class JwksController {
+    private final SigningKeyManager signingKeyManager;
+
+    public JwksController(SigningKeyManager signingKeyManager) {
+        this.signingKeyManager = signingKeyManager;
+    }
+
+    @Operation(summary = "Public keys for verifying issued tokens")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(signingKeyManager.jwks());
+    }
+}
@@ -0,0 +1,15 @@
+package com.pms.authservice.dto;
+
+import java.util.List;
+
+public class TokenBatchValidationRequestDTO {
+    private List<String> tokens;
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
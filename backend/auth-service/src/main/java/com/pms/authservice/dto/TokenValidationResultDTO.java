@@ -0,0 +1,43 @@
+package com.pms.authservice.dto;
+
+import java.time.Instant;
+
+public class TokenValidationResultDTO {
+    private final boolean valid;
+    private final String subject;
+    private final String role;
+    private final String tokenId;
+    private final Instant expiresAt;
+
+    public TokenValidationResultDTO(boolean valid, String subject, String role, String tokenId, Instant expiresAt) {
+        this.valid = valid;
+        this.subject = subject;
+        this.role = role;
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public static TokenValidationResultDTO invalid() {
+        return new TokenValidationResultDTO(false, null, null, null, null);
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pms.authservice.model;
+
+/**
+ * The roles auth-service issues in the JWT role claim. Registration only accepts these names. The api-gateway
+ * lists the same names under gateway.authorization.roles, and its rules decide what each role may call.
+ */
+public enum Role {
+    /** Full access, including deleting inmates and revoking other users' tokens. */
+    ADMIN,
+    /** Custody staff: read and maintain inmate records, read rehabilitation data. */
+    OFFICER,
+    /** Read inmate records; maintain rehabilitation and medical data. */
+    MEDICAL_OFFICER,
+    /** Read inmate records; maintain rehabilitation programmes and counselling data. */
+    COUNSELOR;
+
+    public static boolean isValid(String role) {
+        if (role == null) {
+            return false;
+        }
+        for (Role value : values()) {
+            if (value.name().equals(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,202 @@
+package com.pms.authservice.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pms.authservice.exception.LoginThrottledException;
+
+/**
+ * Sliding-window failed-login counters keyed by username and by client IP.
+ * Each counter is a single packed AtomicLong updated by CAS; the key space is bounded by a
+ * size-limited Caffeine cache so a flood of distinct usernames cannot grow memory without limit.
+ *
+ * <p>Every attempt is counted as a failure before the password is checked and handed back if it succeeds,
+ * so a burst of concurrent guesses cannot all pass the limit before the first failure is recorded.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, SlidingWindowCounter> counters;
+    private final long windowMillis;
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerIp;
+
+    public LoginThrottle(@Value("${auth.throttle.window:PT5M}") Duration window,
+                         @Value("${auth.throttle.max-failures-per-user:5}") int maxFailuresPerUser,
+                         @Value("${auth.throttle.max-failures-per-ip:20}") int maxFailuresPerIp,
+                         @Value("${auth.throttle.maximum-keys:100000}") long maximumKeys) {
+        this.windowMillis = window.toMillis();
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    /**
+     * Reserve one failed attempt for the username and one for the client IP. The reservation stands as the
+     * failure unless the attempt reports otherwise. Throws LoginThrottledException, reserving nothing, when
+     * either window is already full.
+     */
+    public Attempt reserve(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        Reservation user = reserve(userKey(username), maxFailuresPerUser, now);
+        if (user == null) {
+            throw throttled(now);
+        }
+        Reservation ip = reserve(ipKey(clientIp), maxFailuresPerIp, now);
+        if (ip == null) {
+            user.release();
+            throw throttled(now);
+        }
+        return new Attempt(username, user, ip);
+    }
+
+    private Reservation reserve(String key, int limit, long now) {
+        if (key == null) {
+            return Reservation.NONE;
+        }
+        SlidingWindowCounter counter = counters.get(key, k -> new SlidingWindowCounter());
+        return counter.tryIncrement(now, windowMillis, limit) ? new Reservation(counter, now / windowMillis) : null;
+    }
+
+    private LoginThrottledException throttled(long now) {
+        return new LoginThrottledException(Math.max(1, (windowMillis - now % windowMillis) / 1000));
+    }
+
+    private static String userKey(String username) {
+        return username != null ? "u:" + username.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp != null ? "ip:" + clientIp : null;
+    }
+
+    /**
+     * A login that has passed the throttle. Its reserved failures stay counted unless it succeeds or is
+     * abandoned; only the first of the two calls takes effect.
+     */
+    public final class Attempt {
+        private final String username;
+        private final Reservation user;
+        private final Reservation ip;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Attempt(String username, Reservation user, Reservation ip) {
+            this.username = username;
+            this.user = user;
+            this.ip = ip;
+        }
+
+        /**
+         * The password matched: the username's failures are cleared and the IP's reservation is handed back.
+         */
+        public void succeeded() {
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            ip.release();
+            if (username != null) {
+                counters.invalidate(userKey(username));
+            }
+        }
+
+        /**
+         * The password could not be checked (e.g. the hashing pool was full); the attempt is not a failure.
+         */
+        public void abandoned() {
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            user.release();
+            ip.release();
+        }
+    }
+
+    private record Reservation(SlidingWindowCounter counter, long window) {
+        static final Reservation NONE = new Reservation(null, 0);
+
+        void release() {
+            if (counter != null) {
+                counter.decrement(window);
+            }
+        }
+    }
+
+    /**
+     * Two-bucket sliding window packed into one long: window index (32 bits), previous count (16), current count (16).
+     * The estimate weights the previous window by how much of it still overlaps the sliding window.
+     */
+    static final class SlidingWindowCounter {
+        private static final long COUNT_MASK = 0xFFFFL;
+
+        private final AtomicLong state = new AtomicLong();
+
+        /**
+         * Count one more failure unless the estimate has already reached the limit; check and increment are
+         * one CAS, so concurrent callers can never take the count past the limit.
+         */
+        boolean tryIncrement(long now, long windowMillis, int limit) {
+            long window = now / windowMillis;
+            double elapsed = (double) (now % windowMillis) / windowMillis;
+            long current;
+            long next;
+            do {
+                current = state.get();
+                long rolled = roll(current, window);
+                if (estimate(rolled, elapsed) >= limit) {
+                    return false;
+                }
+                long count = Math.min(COUNT_MASK, (rolled & COUNT_MASK) + 1);
+                next = (rolled & ~COUNT_MASK) | count;
+            } while (!state.compareAndSet(current, next));
+            return true;
+        }
+
+        /**
+         * Take back one failure counted in the given window, which may since have become the previous one.
+         */
+        void decrement(long window) {
+            long current;
+            long next;
+            do {
+                current = state.get();
+                long stateWindow = current >>> 32;
+                if (stateWindow == window && (current & COUNT_MASK) > 0) {
+                    next = current - 1;
+                } else if (stateWindow == window + 1 && ((current >>> 16) & COUNT_MASK) > 0) {
+                    next = current - (1L << 16);
+                } else {
+                    return;
+                }
+            } while (!state.compareAndSet(current, next));
+        }
+
+        double estimate(long now, long windowMillis) {
+            return estimate(roll(state.get(), now / windowMillis), (double) (now % windowMillis) / windowMillis);
+        }
+
+        private static double estimate(long rolled, double elapsed) {
+            long previous = (rolled >>> 16) & COUNT_MASK;
+            long current = rolled & COUNT_MASK;
+            return previous * (1.0 - elapsed) + current;
+        }
+
+        private static long roll(long state, long window) {
+            long stateWindow = state >>> 32;
+            if (stateWindow == window) {
+                return state;
+            }
+            long previous = stateWindow + 1 == window ? state & COUNT_MASK : 0;
+            return (window << 32) | (previous << 16);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.pms.authservice.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the RSA key pairs used to sign JWTs, loaded from a keystore shared by every auth-service replica so
+ * tokens survive restarts and verify on any instance. Each RSA private key entry is one key, its alias is the
+ * kid. New tokens are signed with the entry whose certificate became valid most recently and has not expired;
+ * an entry whose certificate is not valid yet is already published in the JWKS, so verifiers learn it before
+ * it signs anything.
+ *
+ * <p>Everything is derived from the keystore alone, so every replica, including one started later, publishes
+ * the same keys. An entry stays published until its certificate's notAfter plus the overlap (at least the
+ * token lifetime), so tokens it signed keep verifying until they expire. To rotate, add a new entry; it is
+ * picked up on the next reload. Remove an old entry only once it is no longer published.
+ *
+ * <p>Without a configured keystore a throwaway key is generated at startup. That is only suitable for local
+ * development: its tokens do not survive a restart and are not accepted by other replicas.
+ */
+@Component
+public class SigningKeyManager {
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyManager.class);
+
+    /**
+     * {@code activeUntil} is the certificate's notAfter, null for a key without an expiry.
+     */
+    public record SigningKey(String kid, PrivateKey privateKey, PublicKey publicKey, Instant activeFrom,
+                             Instant activeUntil) {
+
+        boolean canSign(Instant now) {
+            return !activeFrom.isAfter(now) && (activeUntil == null || activeUntil.isAfter(now));
+        }
+    }
+
+    private final ResourceLoader resourceLoader;
+    private final String keystoreLocation;
+    private final char[] keystorePassword;
+    private final String keystoreType;
+    private final Duration overlap;
+    private volatile Map<String, SigningKey> publishedKeys = Map.of();
+    private volatile SigningKey current;
+
+    public SigningKeyManager(ResourceLoader resourceLoader,
+                             @Value("${jwt.keys.keystore:}") String keystoreLocation,
+                             @Value("${jwt.keys.keystore-password:}") String keystorePassword,
+                             @Value("${jwt.keys.keystore-type:PKCS12}") String keystoreType,
+                             @Value("${jwt.keys.overlap:PT11H}") Duration overlap,
+                             @Value("${jwt.keys.size:2048}") int keySize) {
+        this.resourceLoader = resourceLoader;
+        this.keystoreLocation = keystoreLocation;
+        this.keystorePassword = keystorePassword.toCharArray();
+        this.keystoreType = keystoreType;
+        this.overlap = overlap;
+        if (keystoreLocation.isBlank()) {
+            log.warn("jwt.keys.keystore is not set; signing with a generated key that is lost on restart "
+                    + "and unknown to other replicas");
+            KeyPair keyPair = generateKeyPair(keySize);
+            current = new SigningKey(UUID.randomUUID().toString(), keyPair.getPrivate(), keyPair.getPublic(),
+                    Instant.now(), null);
+            publishedKeys = Map.of(current.kid(), current);
+        } else {
+            reload();
+        }
+    }
+
+    /**
+     * Re-read the keystore. A keystore that cannot be read, or holds no key able to sign now, fails startup;
+     * on a later reload the keys already loaded are kept instead.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval:PT5M}",
+            initialDelayString = "${jwt.keys.reload-interval:PT5M}")
+    public synchronized void reload() {
+        if (keystoreLocation.isBlank()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Map<String, SigningKey> loaded;
+        try {
+            loaded = load();
+        } catch (IOException | GeneralSecurityException e) {
+            if (current == null) {
+                throw new IllegalStateException("Cannot load JWT signing keys from " + keystoreLocation, e);
+            }
+            log.error("Failed to reload JWT signing keys from {}; keeping the current keys", keystoreLocation, e);
+            return;
+        }
+        SigningKey next = loaded.values().stream()
+                .filter(key -> key.canSign(now))
+                .max(Comparator.comparing(SigningKey::activeFrom).thenComparing(SigningKey::kid))
+                .orElse(null);
+        if (next == null) {
+            if (current == null) {
+                throw new IllegalStateException("No valid RSA signing key in " + keystoreLocation);
+            }
+            log.error("No valid RSA signing key in {}; keeping the current keys", keystoreLocation);
+            return;
+        }
+
+        Map<String, SigningKey> published = new LinkedHashMap<>();
+        for (SigningKey key : loaded.values()) {
+            if (key.activeUntil() == null || key.activeUntil().plus(overlap).isAfter(now)) {
+                published.put(key.kid(), key);
+            }
+        }
+        publishedKeys = Collections.unmodifiableMap(published);
+
+        if (current == null || !current.kid().equals(next.kid())) {
+            log.info("Signing new tokens with key {}", next.kid());
+        }
+        current = next;
+    }
+
+    public SigningKey current() {
+        return current;
+    }
+
+    public PublicKey publicKey(String kid) {
+        SigningKey key = kid != null ? publishedKeys.get(kid) : null;
+        return key != null ? key.publicKey() : null;
+    }
+
+    /**
+     * Public keys in JSON Web Key Set form (RFC 7517).
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (SigningKey key : publishedKeys.values()) {
+            RSAPublicKey publicKey = (RSAPublicKey) key.publicKey();
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("kid", key.kid());
+            jwk.put("n", base64Url(publicKey.getModulus()));
+            jwk.put("e", base64Url(publicKey.getPublicExponent()));
+            keys.add(jwk);
+        }
+        return Map.of("keys", keys);
+    }
+
+    private Map<String, SigningKey> load() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance(keystoreType);
+        try (InputStream in = resourceLoader.getResource(keystoreLocation).getInputStream()) {
+            keyStore.load(in, keystorePassword);
+        }
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (!keyStore.isKeyEntry(alias)) {
+                continue;
+            }
+            Key key = keyStore.getKey(alias, keystorePassword);
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (!(key instanceof RSAPrivateKey privateKey) || certificate == null) {
+                continue;
+            }
+            Instant activeFrom = Instant.EPOCH;
+            Instant activeUntil = null;
+            if (certificate instanceof X509Certificate x509) {
+                activeFrom = x509.getNotBefore().toInstant();
+                activeUntil = x509.getNotAfter().toInstant();
+            }
+            keys.put(alias, new SigningKey(alias, privateKey, certificate.getPublicKey(), activeFrom, activeUntil));
+        }
+        return keys;
+    }
+
+    private static KeyPair generateKeyPair(int keySize) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,78 @@
+package com.pms.authservice.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.pms.authservice.config.KafkaTopicConfig;
+
+/**
+ * Records revoked token ids (jti) until the token would have expired anyway and broadcasts each
+ * revocation on Kafka so every verifier (the gateway instances) can reject the token locally.
+ *
+ * <p>The set lives in memory, so it is rebuilt from the same topic: every instance consumes it in its own
+ * consumer group and replays it from the start on assignment. The topic is retained slightly longer than a
+ * token lives, so the replay covers every revocation that still matters, including those made by other
+ * replicas.
+ */
+@Service
+public class TokenRevocationService implements ConsumerSeekAware {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    public TokenRevocationService(KafkaTemplate<String, String> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        long expiresAtSeconds = expiresAt.getEpochSecond();
+        revoked.put(tokenId, expiresAtSeconds);
+        try {
+            kafkaTemplate.send(KafkaTopicConfig.TOKEN_REVOKED_TOPIC, tokenId, String.valueOf(expiresAtSeconds));
+            log.info("Published revocation for token {}", tokenId);
+        } catch (Exception e) {
+            log.error("Failed to publish revocation for token {}", tokenId, e);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    @KafkaListener(topics = KafkaTopicConfig.TOKEN_REVOKED_TOPIC,
+            groupId = "auth-service-revocations-${auth.instance-id}")
+    public void onRevocation(ConsumerRecord<String, String> record) {
+        try {
+            long expiresAtSeconds = Long.parseLong(record.value());
+            if (record.key() != null && expiresAtSeconds >= Instant.now().getEpochSecond()) {
+                revoked.put(record.key(), expiresAtSeconds);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation record {}: {}", record.key(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+    }
+}
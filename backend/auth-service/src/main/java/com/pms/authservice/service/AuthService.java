@@ -1,14 +1,23 @@
 package com.pms.authservice.service;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.pms.authservice.dto.LoginRequestDTO;
+import com.pms.authservice.dto.TokenValidationResultDTO;
+import com.pms.authservice.model.Role;
 import com.pms.authservice.model.User;
+import com.pms.authservice.security.LoginThrottle;
+import com.pms.authservice.security.PasswordHashingExecutor;
+import com.pms.authservice.security.TokenRevocationService;
 import com.pms.authservice.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 
 @Service
@@ -16,37 +25,129 @@ public class AuthService {
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
 
-    public AuthService(UserService userService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public AuthService(UserService userService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                       TokenRevocationService tokenRevocationService,
+                       PasswordHashingExecutor passwordHashingExecutor,
+                       LoginThrottle loginThrottle) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginThrottle = loginThrottle;
     }
 
-    public Optional<String> authenticate(LoginRequestDTO loginRequestDTO) {
-        Optional<String> token = userService.findByUsername(loginRequestDTO.getUsername())
-                .filter(u -> passwordEncoder.matches(loginRequestDTO.getPassword(),
-                        u.getPassword()))
-                .map(u -> jwtUtil.generateToken(u.getUsername(), u.getRole()));
+    /**
+     * The user lookup and the BCrypt comparison run on the password hashing pool, never on the request
+     * thread; throws RejectedExecutionException right away when that pool is saturated, and
+     * LoginThrottledException before any lookup when the username or client IP has too many recent failures.
+     */
+    public CompletableFuture<Optional<String>> authenticate(LoginRequestDTO loginRequestDTO, String clientIp) {
+        String username = loginRequestDTO.getUsername();
+        // Counted as a failure until the password is known to match
+        LoginThrottle.Attempt attempt = loginThrottle.reserve(username, clientIp);
 
-        return token;
+        CompletableFuture<Optional<String>> result;
+        try {
+            result = passwordHashingExecutor
+                    .submit(() -> userService.findByUsername(username)
+                            .filter(u -> passwordEncoder.matches(loginRequestDTO.getPassword(), u.getPassword())))
+                    .thenApply(user -> user.map(u -> {
+                        attempt.succeeded();
+                        return jwtUtil.generateToken(u.getUsername(), u.getRole());
+                    }));
+        } catch (RuntimeException e) {
+            attempt.abandoned();
+            throw e;
+        }
+        return result.whenComplete((token, error) -> {
+            if (error != null) {
+                attempt.abandoned();
+            }
+        });
     }
 
-    public User registerUser(User user) {
-        if(userService.findByUsername(user.getUsername()).isPresent()) {
-            throw new IllegalArgumentException("Username already exists");
-        }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userService.saveUser(user);
+    /**
+     * Runs on the password hashing pool like {@link #authenticate}: throws RejectedExecutionException right
+     * away when the pool is saturated, and completes with IllegalArgumentException if the username is taken.
+     */
+    public CompletableFuture<User> registerUser(User user) {
+        return passwordHashingExecutor.submit(() -> {
+            if (userService.findByUsername(user.getUsername()).isPresent()) {
+                throw new IllegalArgumentException("Username already exists");
+            }
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            return userService.saveUser(user);
+        });
     }
 
     public boolean validateToken(String token) {
         try {
-            jwtUtil.validateToken(token);
+            Claims claims = jwtUtil.validateToken(token);
+            return !tokenRevocationService.isRevoked(claims.getId());
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validate many tokens at once, returning one result per input token in the same order.
+     */
+    public List<TokenValidationResultDTO> validateTokens(List<String> tokens) {
+        return tokens.stream()
+                .map(this::validateAndDescribe)
+                .toList();
+    }
+
+    private TokenValidationResultDTO validateAndDescribe(String token) {
+        try {
+            Claims claims = jwtUtil.validateToken(token);
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                return TokenValidationResultDTO.invalid();
+            }
+            return new TokenValidationResultDTO(true, claims.getSubject(), claims.get("role", String.class),
+                    claims.getId(), claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        } catch (JwtException e) {
+            return TokenValidationResultDTO.invalid();
+        }
+    }
+
+    /**
+     * Revoke the presented token. Returns false if the token is not valid to begin with.
+     */
+    public boolean logout(String token) {
+        try {
+            Claims claims = jwtUtil.validateToken(token);
+            if (claims.getId() == null) {
+                return false;
+            }
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
             return true;
         } catch (JwtException e) {
             return false;
         }
     }
 
+    /**
+     * Revoke another token by id on behalf of an administrator.
+     */
+    public boolean revokeToken(String adminToken, String tokenId) {
+        try {
+            Claims claims = jwtUtil.validateToken(adminToken);
+            if (tokenRevocationService.isRevoked(claims.getId())
+                    || !Role.ADMIN.name().equals(claims.get("role", String.class))) {
+                return false;
+            }
+        } catch (JwtException e) {
+            return false;
+        }
+        // The exact expiry of a token we only know by id is unknown; keep it for the longest possible lifetime
+        tokenRevocationService.revoke(tokenId, Instant.now().plusMillis(JwtUtil.EXPIRATION_MILLIS));
+        return true;
+    }
+
 }
@@ -1,25 +1,85 @@
 package com.pms.authservice.service;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.pms.authservice.model.User;
 import com.pms.authservice.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final Cache<String, Optional<CachedUser>> cache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${auth.user-cache.maximum-size:10000}") long maximumSize,
+                       @Value("${auth.user-cache.ttl:PT5M}") Duration ttl,
+                       @Value("${auth.user-cache.negative-ttl:PT30S}") Duration negativeTtl) {
         this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<CachedUser>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<CachedUser> value, long currentTime) {
+                        return (value.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<CachedUser> value, long currentTime,
+                                                  long currentDuration) {
+                        return (value.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<CachedUser> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.users");
     }
 
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        // A request without a username matches no user; the cache does not accept null keys
+        if (username == null || username.isBlank()) {
+            return Optional.empty();
+        }
+        return cache.get(username, key -> userRepository.findByUsername(key).map(CachedUser::of))
+                .map(CachedUser::toUser);
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        cache.put(saved.getUsername(), Optional.of(CachedUser.of(saved)));
+        return saved;
+    }
+
+    // Immutable snapshot so callers never share a mutable entity through the cache
+    private record CachedUser(UUID id, String username, String password, String role) {
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(username);
+            user.setPassword(password);
+            user.setRole(role);
+            return user;
+        }
     }
 }
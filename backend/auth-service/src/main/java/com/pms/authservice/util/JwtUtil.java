@@ -1,45 +1,74 @@
 package com.pms.authservice.util;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Base64;
 import java.util.Date;
-import javax.crypto.SecretKey;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.pms.authservice.security.SigningKeyManager;
+
 @Component
 public class JwtUtil {
-    private final Key secretKey;
+    public static final long EXPIRATION_MILLIS = 1000 * 60 * 60 * 10; // 10 hours
+
+    private final SigningKeyManager signingKeyManager;
+    // Immutable and thread-safe; keys are resolved per token by kid, so one parser serves every rotation
+    private final JwtParser parser;
 
-    public JwtUtil(@Value("${jwt.secret}") String secret) {
-        byte[] keyBytes = Base64.getDecoder()
-                .decode(secret.getBytes(StandardCharsets.UTF_8));
-        this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Tokens without a kid were issued before RSA signing and are only accepted when the legacy HMAC
+     * secret is configured, the same rule the gateway applies.
+     */
+    public JwtUtil(SigningKeyManager signingKeyManager, @Value("${jwt.secret:}") String legacySecret) {
+        this.signingKeyManager = signingKeyManager;
+        Key legacyKey = legacySecret == null || legacySecret.isBlank()
+                ? null
+                : Keys.hmacShaKeyFor(Base64.getDecoder().decode(legacySecret.getBytes(StandardCharsets.UTF_8)));
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = header.getKeyId() == null
+                                ? legacyKey
+                                : signingKeyManager.publicKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key");
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String username, String role) {
+        SigningKeyManager.SigningKey signingKey = signingKeyManager.current();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .claim("role", role)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
-                .signWith(secretKey)
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_MILLIS))
+                .signWith(signingKey.privateKey(), Jwts.SIG.RS256)
                 .compact();
     }
 
-    public void validateToken(String token) {
+    public Claims validateToken(String token) {
         try {
-            Jwts.parser().verifyWith((SecretKey) secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+            return parser.parseSignedClaims(token).getPayload();
         } catch (SignatureException e) {
             throw new JwtException("Invalid JWT signature");
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Invalid JWT");
         }
     }
@@ -7,6 +7,7 @@ CREATE TABLE IF NOT EXISTS "users" (
 );
 
 -- Insert the user if no existing user with the same id or username exists
+-- Roles: ADMIN, OFFICER, MEDICAL_OFFICER, COUNSELOR (com.pms.authservice.model.Role)
 INSERT INTO "users" (id, username, password, role)
 SELECT '223e4567-e89b-12d3-a456-426614174006', 'testuser',
        '$2b$12$7hoRZfJrRKD2nIm2vHLs7OBETy.LWenXXMLKf99W8M4PUwO6KB7fu', 'ADMIN'
@@ -0,0 +1,110 @@
+package com.pms.authservice.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.pms.authservice.exception.LoginThrottledException;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle throttle = new LoginThrottle(Duration.ofMinutes(5), 5, 20, 1000);
+
+    @Test
+    void concurrentAttemptsNeverExceedThePerUserLimit() throws Exception {
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String clientIp = "10.0.0." + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    throttle.reserve("alice", clientIp);
+                    return true;
+                } catch (LoginThrottledException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int admitted = 0;
+        for (Future<Boolean> result : results) {
+            admitted += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(5, admitted);
+    }
+
+    @Test
+    void unsettledAttemptsCountAsFailures() {
+        for (int i = 0; i < 5; i++) {
+            throttle.reserve("bob", "10.0.0.1");
+        }
+
+        LoginThrottledException e = assertThrows(LoginThrottledException.class,
+                () -> throttle.reserve("Bob", "10.0.0.2"));
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+    }
+
+    @Test
+    void successClearsTheUserAndHandsBackTheIpReservation() {
+        for (int i = 0; i < 4; i++) {
+            throttle.reserve("carol", "10.0.0.1");
+        }
+        throttle.reserve("carol", "10.0.0.1").succeeded();
+
+        for (int i = 0; i < 5; i++) {
+            throttle.reserve("carol", "10.0.0.2");
+        }
+        // 4 failures from the first address; the successful attempt was handed back
+        for (int i = 0; i < 16; i++) {
+            throttle.reserve("user" + i, "10.0.0.1");
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.reserve("dave", "10.0.0.1"));
+    }
+
+    @Test
+    void abandonedAttemptsAreNotFailures() {
+        for (int i = 0; i < 10; i++) {
+            throttle.reserve("erin", "10.0.0.1").abandoned();
+        }
+
+        throttle.reserve("erin", "10.0.0.1");
+    }
+
+    @Test
+    void settlingTwiceHasNoFurtherEffect() {
+        LoginThrottle.Attempt attempt = throttle.reserve("frank", "10.0.0.1");
+        attempt.succeeded();
+        attempt.abandoned();
+        attempt.abandoned();
+
+        for (int i = 0; i < 5; i++) {
+            throttle.reserve("frank", "10.0.0.1");
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.reserve("frank", "10.0.0.1"));
+    }
+
+    @Test
+    void requestsWithoutUsernameAreLimitedByIp() {
+        for (int i = 0; i < 20; i++) {
+            throttle.reserve(null, "10.0.0.9");
+        }
+
+        assertThrows(LoginThrottledException.class, () -> throttle.reserve(null, "10.0.0.9"));
+    }
+}
@@ -16,6 +16,14 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic inmateUpdatedTopic() {
+        return TopicBuilder.name("inmate.updated")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
     public NewTopic inmateReleasedTopic() {
         return TopicBuilder.name("inmate.released")
@@ -32,6 +40,14 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic inmateDeletedTopic() {
+        return TopicBuilder.name("inmate.deleted")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
     public NewTopic behaviorIncidentTopic() {
         return TopicBuilder.name("inmate.behavior.incident")
@@ -7,11 +7,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/inmates")
@@ -20,6 +24,9 @@ import java.util.List;
 @Tag(name = "Inmate Management", description = "APIs for managing inmates in the prison system")
 public class InmateController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final InmateService inmateService;
 
     @PostMapping
@@ -47,27 +54,65 @@ public class InmateController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all inmates", description = "Retrieve all inmates in the system")
-    public ResponseEntity<List<InmateResponseDTO>> getAllInmates() {
-        log.info("REST request to get all inmates");
-        List<InmateResponseDTO> inmates = inmateService.getAllInmates();
-        return ResponseEntity.ok(inmates);
+    @Operation(summary = "List inmates",
+            description = "Keyset-paginated inmate listing. Pass the X-Next-Cursor response header back as cursor "
+                    + "to fetch the next page; X-Total-Count is omitted when includeTotal=false")
+    public ResponseEntity<List<InmateResponseDTO>> getAllInmates(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
+        log.info("REST request to list inmates (limit {}, sort {} {})", limit, sort, direction);
+        InmatePageDTO page = inmateService.getInmatesPage(cursor, limit, sort, direction, includeTotal);
+        return pageResponse(page);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search inmates", description = "Search inmates by name, booking number, or NIC")
-    public ResponseEntity<List<InmateResponseDTO>> searchInmates(@RequestParam String searchTerm) {
+    @Operation(summary = "Search inmates",
+            description = "Search inmates by name, booking number, or NIC; best matches first, at most limit results")
+    public ResponseEntity<List<InmateResponseDTO>> searchInmates(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "${inmate.search.default-limit:20}") int limit) {
         log.info("REST request to search inmates with term: {}", searchTerm);
-        List<InmateResponseDTO> inmates = inmateService.searchInmates(searchTerm);
+        List<InmateResponseDTO> inmates = inmateService.searchInmates(searchTerm, limit);
+        return ResponseEntity.ok(inmates);
+    }
+
+    @GetMapping("/search/fuzzy")
+    @Operation(summary = "Fuzzy name search",
+            description = "Find inmates by name, tolerating typos and different romanisations of the same name")
+    public ResponseEntity<List<InmateResponseDTO>> fuzzySearchInmates(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "${inmate.search.default-limit:20}") int limit) {
+        log.info("REST request to fuzzy search inmates with name: {}", name);
+        List<InmateResponseDTO> inmates = inmateService.fuzzySearchInmates(name, limit);
         return ResponseEntity.ok(inmates);
     }
 
+    @GetMapping("/duplicates")
+    @Operation(summary = "Duplicate identity report",
+            description = "Pairs of existing inmate records that are likely the same person, most likely first")
+    public ResponseEntity<List<DuplicatePairDTO>> getDuplicateReport(
+            @RequestParam(defaultValue = "${inmate.duplicates.report-max-pairs:1000}") int limit) {
+        log.info("REST request for duplicate identity report");
+        List<DuplicatePairDTO> pairs = inmateService.getDuplicateReport(limit);
+        return ResponseEntity.ok(pairs);
+    }
+
     @PostMapping("/filter")
-    @Operation(summary = "Filter inmates", description = "Filter inmates by various criteria")
-    public ResponseEntity<List<InmateResponseDTO>> filterInmates(@RequestBody InmateFilterDTO filter) {
+    @Operation(summary = "Filter inmates",
+            description = "Filter inmates by any combination of criteria, paginated like the inmate listing")
+    public ResponseEntity<List<InmateResponseDTO>> filterInmates(
+            @RequestBody InmateFilterDTO filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         log.info("REST request to filter inmates");
-        List<InmateResponseDTO> inmates = inmateService.filterInmates(filter);
-        return ResponseEntity.ok(inmates);
+        InmatePageDTO page = inmateService.filterInmates(filter, cursor, limit, sort, direction, includeTotal);
+        return pageResponse(page);
     }
 
     @PutMapping("/{id}")
@@ -134,6 +179,41 @@ public class InmateController {
         return ResponseEntity.ok(inmates);
     }
 
+    @GetMapping("/health")
+    @Operation(summary = "Health check endpoint")
+    public ResponseEntity<Map<String, String>> health() {
+        return ResponseEntity.ok(Map.of(
+                "status", "UP",
+                "service", "inmate-service",
+                "timestamp", java.time.LocalDateTime.now().toString()
+        ));
+    }
+
+    private static ResponseEntity<List<InmateResponseDTO>> pageResponse(InmatePageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (page.getTotalCount() != null) {
+            response.header(TOTAL_COUNT_HEADER, page.getTotalCount().toString());
+        }
+        return response.body(page.getContent());
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex) {
+        ErrorResponse error = new ErrorResponse(ex.getReason(), ex.getStatusCode().value());
+        return new ResponseEntity<>(error, ex.getStatusCode());
+    }
+
+    // The request deadline ran out while waiting on the database (see DeadlineAwareTransactionManager)
+    @ExceptionHandler({TransactionTimedOutException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(RuntimeException ex) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse("Request deadline exceeded", HttpStatus.GATEWAY_TIMEOUT.value());
+        return new ResponseEntity<>(error, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
         log.error("Error processing request", ex);
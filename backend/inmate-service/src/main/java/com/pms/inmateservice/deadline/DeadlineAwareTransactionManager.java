@@ -0,0 +1,34 @@
+package com.pms.inmateservice.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps every transaction started for a request at the request's remaining {@link RequestDeadline}. The timeout
+ * reaches the database as a JDBC query timeout on each statement, so a query nobody is waiting for any more is
+ * cancelled instead of holding its connection. Timeouts have whole-second granularity, rounded up.
+ */
+public class DeadlineAwareTransactionManager extends JpaTransactionManager {
+
+    public DeadlineAwareTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        RequestDeadline deadline = RequestDeadline.current().orElse(null);
+        if (deadline == null) {
+            return timeout;
+        }
+        if (deadline.isExpired()) {
+            throw new TransactionTimedOutException("Request deadline exceeded before the transaction started");
+        }
+        int remainingSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(deadline.remainingMillis() + 999));
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
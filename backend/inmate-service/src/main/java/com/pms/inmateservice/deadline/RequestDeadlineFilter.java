@@ -0,0 +1,37 @@
+package com.pms.inmateservice.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns the gateway's X-Request-Timeout budget into a {@link RequestDeadline}. A request whose budget is
+ * already used up is answered with 504 straight away instead of taking a DB connection for nobody.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header != null) {
+            try {
+                long budgetMillis = Long.parseLong(header.trim());
+                if (budgetMillis <= 0) {
+                    response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Request deadline exceeded");
+                    return;
+                }
+                request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.afterMillis(budgetMillis));
+            } catch (NumberFormatException e) {
+                // Malformed budgets are ignored rather than failing the request
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
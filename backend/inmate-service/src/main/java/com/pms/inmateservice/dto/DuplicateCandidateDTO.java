@@ -0,0 +1,19 @@
+package com.pms.inmateservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDTO {
+
+    private Long inmateId;
+    private String bookingNumber;
+    private String fullName;
+    private Double score;          // 0..1, higher is more likely the same person
+    private List<String> reasons;  // NIC, DATE_OF_BIRTH, NAME or SIMILAR_NAME
+}
@@ -0,0 +1,16 @@
+package com.pms.inmateservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicatePairDTO {
+
+    private Long inmateId;
+    private String bookingNumber;
+    private String fullName;
+    private DuplicateCandidateDTO duplicate;  // the older record this inmate likely duplicates
+}
@@ -0,0 +1,17 @@
+package com.pms.inmateservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InmatePageDTO {
+
+    private List<InmateResponseDTO> content;
+    private String nextCursor;  // null on the last page
+    private Long totalCount;    // null when the count was not requested
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class InmateResponseDTO {
@@ -88,4 +89,7 @@ public class InmateResponseDTO {
     // Statistics
     private Long totalIncidents;
     private Long totalVisits;
+
+    // Set on the create response only: existing records that are likely the same person
+    private List<DuplicateCandidateDTO> possibleDuplicates;
 }
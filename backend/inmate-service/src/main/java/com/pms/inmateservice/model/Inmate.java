@@ -13,7 +13,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "inmates")
+@Table(name = "inmates", indexes = {
+        // Composite (sort column, id) indexes back the keyset-paginated listing
+        @Index(name = "idx_inmates_last_name_id", columnList = "lastName, id"),
+        @Index(name = "idx_inmates_date_of_birth_id", columnList = "dateOfBirth, id"),
+        @Index(name = "idx_inmates_sentence_end_date_id", columnList = "sentenceEndDate, id"),
+        @Index(name = "idx_inmates_nic", columnList = "nic")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
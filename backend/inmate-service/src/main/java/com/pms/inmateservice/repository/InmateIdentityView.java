@@ -0,0 +1,24 @@
+package com.pms.inmateservice.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Just the columns the in-memory name and duplicate-identity indexes need, so loading them does not hydrate
+ * full inmate entities.
+ */
+public interface InmateIdentityView {
+
+    Long getId();
+
+    String getBookingNumber();
+
+    String getFirstName();
+
+    String getMiddleName();
+
+    String getLastName();
+
+    String getNic();
+
+    LocalDate getDateOfBirth();
+}
@@ -3,7 +3,9 @@ package com.pms.inmateservice.repository;
 import com.pms.inmateservice.model.Inmate;
 import com.pms.inmateservice.model.InmateStatus;
 import com.pms.inmateservice.model.SecurityLevel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,10 +15,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InmateRepository extends JpaRepository<Inmate, Long> {
+public interface InmateRepository extends JpaRepository<Inmate, Long>, JpaSpecificationExecutor<Inmate> {
 
     Optional<Inmate> findByBookingNumber(String bookingNumber);
 
+    List<InmateIdentityView> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     List<Inmate> findByStatus(InmateStatus status);
 
     List<Inmate> findBySecurityLevel(SecurityLevel securityLevel);
@@ -25,12 +29,47 @@ public interface InmateRepository extends JpaRepository<Inmate, Long> {
 
     List<Inmate> findByCurrentFacilityAndBlock(String facility, String block);
 
-    @Query("SELECT i FROM Inmate i WHERE " +
-           "LOWER(i.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(i.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(i.bookingNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(i.nic) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Inmate> searchInmates(@Param("searchTerm") String searchTerm);
+    /**
+     * Substring match on name, booking number or NIC, served by the pg_trgm GIN indexes from schema.sql.
+     * Exact booking number / NIC hits come first, then rows ordered by trigram similarity to the term.
+     * {@code pattern} is the LIKE pattern for {@code searchTerm} with wildcards already escaped.
+     */
+    @Query(value = "SELECT * FROM inmates i WHERE " +
+           "lower(i.first_name) LIKE :pattern OR " +
+           "lower(i.last_name) LIKE :pattern OR " +
+           "lower(i.booking_number) LIKE :pattern OR " +
+           "lower(i.nic) LIKE :pattern " +
+           "ORDER BY (lower(i.booking_number) = :searchTerm OR coalesce(lower(i.nic), '') = :searchTerm) DESC, " +
+           "greatest(similarity(lower(i.first_name), :searchTerm), " +
+           "similarity(lower(i.last_name), :searchTerm), " +
+           "similarity(lower(i.booking_number), :searchTerm), " +
+           "similarity(coalesce(lower(i.nic), ''), :searchTerm)) DESC, i.id " +
+           "LIMIT :limit", nativeQuery = true)
+    List<Inmate> searchInmates(@Param("searchTerm") String searchTerm,
+                               @Param("pattern") String pattern,
+                               @Param("limit") int limit);
+
+    /**
+     * {@link #searchInmates} without the similarity() ranking, for a database where pg_trgm is not installed:
+     * the same rows, exact booking number / NIC hits first, the rest by id.
+     */
+    @Query(value = "SELECT * FROM inmates i WHERE " +
+           "lower(i.first_name) LIKE :pattern OR " +
+           "lower(i.last_name) LIKE :pattern OR " +
+           "lower(i.booking_number) LIKE :pattern OR " +
+           "lower(i.nic) LIKE :pattern " +
+           "ORDER BY (lower(i.booking_number) = :searchTerm OR coalesce(lower(i.nic), '') = :searchTerm) DESC, i.id " +
+           "LIMIT :limit", nativeQuery = true)
+    List<Inmate> searchInmatesWithoutRanking(@Param("searchTerm") String searchTerm,
+                                             @Param("pattern") String pattern,
+                                             @Param("limit") int limit);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", nativeQuery = true)
+    boolean isTrigramExtensionInstalled();
+
+    // Duplicate-identity candidates when the in-memory index is not available yet; a null NIC matches nothing
+    @Query("SELECT i FROM Inmate i WHERE i.nic = :nic OR i.dateOfBirth = :dateOfBirth")
+    List<Inmate> findIdentityMatches(@Param("nic") String nic, @Param("dateOfBirth") LocalDate dateOfBirth);
 
     @Query("SELECT i FROM Inmate i WHERE i.paroleEligibilityDate BETWEEN :startDate AND :endDate")
     List<Inmate> findByParoleEligibilityDateBetween(@Param("startDate") LocalDate startDate, 
@@ -0,0 +1,51 @@
+package com.pms.inmateservice.repository;
+
+import com.pms.inmateservice.model.Inmate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Columns the inmate listing can be ordered by. Only NOT NULL columns qualify, because keyset pagination
+ * compares the last row's value with "greater than", which never matches NULL.
+ */
+public enum InmateSortField {
+
+    ID("id", Long::valueOf, Inmate::getId),
+    BOOKING_NUMBER("bookingNumber", Function.identity(), Inmate::getBookingNumber),
+    LAST_NAME("lastName", Function.identity(), Inmate::getLastName),
+    DATE_OF_BIRTH("dateOfBirth", LocalDate::parse, Inmate::getDateOfBirth),
+    SENTENCE_END_DATE("sentenceEndDate", LocalDate::parse, Inmate::getSentenceEndDate);
+
+    private final String property;
+    private final Function<String, ? extends Comparable<?>> parser;
+    private final Function<Inmate, ? extends Comparable<?>> accessor;
+
+    InmateSortField(String property,
+                    Function<String, ? extends Comparable<?>> parser,
+                    Function<Inmate, ? extends Comparable<?>> accessor) {
+        this.property = property;
+        this.parser = parser;
+        this.accessor = accessor;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public String valueOf(Inmate inmate) {
+        return String.valueOf(accessor.apply(inmate));
+    }
+
+    public static InmateSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equalsIgnoreCase(property) || field.name().equalsIgnoreCase(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cannot sort inmates by: " + property));
+    }
+}
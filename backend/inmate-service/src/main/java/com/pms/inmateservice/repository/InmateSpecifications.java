@@ -0,0 +1,114 @@
+package com.pms.inmateservice.repository;
+
+import com.pms.inmateservice.dto.InmateFilterDTO;
+import com.pms.inmateservice.model.Inmate;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class InmateSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private InmateSpecifications() {
+    }
+
+    /**
+     * LIKE pattern matching {@code term} anywhere in a value. Wildcards in the term are escaped with a
+     * backslash, PostgreSQL's default LIKE escape character, so "%" or "_" typed by a user match literally.
+     */
+    public static String containsPattern(String term) {
+        return "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Every non-null field of the filter, combined with AND, as one WHERE clause. Date ranges are inclusive
+     * and either end may be left open.
+     */
+    public static Specification<Inmate> matching(InmateFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getSearchTerm() != null && !filter.getSearchTerm().isBlank()) {
+                String pattern = containsPattern(filter.getSearchTerm().trim().toLowerCase(Locale.ROOT));
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("firstName")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("lastName")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("bookingNumber")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("nic")), pattern, LIKE_ESCAPE)));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getSecurityLevel() != null) {
+                predicates.add(cb.equal(root.get("securityLevel"), filter.getSecurityLevel()));
+            }
+            if (filter.getCurrentFacility() != null) {
+                predicates.add(cb.equal(root.get("currentFacility"), filter.getCurrentFacility()));
+            }
+            if (filter.getBlock() != null) {
+                predicates.add(cb.equal(root.get("block"), filter.getBlock()));
+            }
+            if (filter.getAdmissionDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("admissionDate"), filter.getAdmissionDateFrom()));
+            }
+            if (filter.getAdmissionDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("admissionDate"), filter.getAdmissionDateTo()));
+            }
+            if (filter.getReleaseDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("releaseDate"), filter.getReleaseDateFrom()));
+            }
+            if (filter.getReleaseDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("releaseDate"), filter.getReleaseDateTo()));
+            }
+            if (filter.getGangAffiliation() != null) {
+                predicates.add(cb.equal(orFalse(cb, root.get("gangAffiliation")), filter.getGangAffiliation()));
+            }
+            if (filter.getHighRisk() != null) {
+                Predicate highRisk = cb.or(
+                        cb.isTrue(orFalse(cb, root.get("escapeRisk"))),
+                        cb.isTrue(orFalse(cb, root.get("violentHistory"))));
+                predicates.add(filter.getHighRisk() ? highRisk : cb.not(highRisk));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Rows strictly after (sortValue, id) in the given order. The id tie-breaker keeps pages stable when many
+     * inmates share a value, e.g. a last name or a release date.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Inmate> after(InmateSortField field, Sort.Direction direction,
+                                              Comparable sortValue, Long id) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            boolean descending = direction.isDescending();
+            if (field == InmateSortField.ID) {
+                return descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            }
+            Path<Comparable> path = root.get(field.property());
+            return cb.or(
+                    descending ? cb.lessThan(path, sortValue) : cb.greaterThan(path, sortValue),
+                    cb.and(cb.equal(path, sortValue),
+                            descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id)));
+        };
+    }
+
+    // Legacy rows may hold NULL in the risk flags; treat that as false
+    private static Expression<Boolean> orFalse(CriteriaBuilder cb, Path<Boolean> flag) {
+        return cb.coalesce(flag, Boolean.FALSE);
+    }
+
+    public static Sort keysetSort(InmateSortField field, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, field.property());
+        return field == InmateSortField.ID ? sort : sort.and(Sort.by(direction, "id"));
+    }
+}
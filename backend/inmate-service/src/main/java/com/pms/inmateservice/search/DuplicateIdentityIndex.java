@@ -0,0 +1,212 @@
+package com.pms.inmateservice.search;
+
+import com.pms.inmateservice.model.Inmate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Blocking index for spotting the same person under several booking numbers. Every inmate is filed under a
+ * few blocking keys (NIC, date of birth plus each normalised name token) and only inmates sharing a key are
+ * ever scored against each other, so checking an admission touches a handful of records instead of the table.
+ *
+ * <p>Old (9 digits + V/X) and new (12 digit) Sri Lankan NIC numbers are folded to the new form, so a person
+ * re-admitted with a re-issued card still matches.
+ */
+@Component
+public class DuplicateIdentityIndex {
+
+    private static final Pattern OLD_NIC = Pattern.compile("(\\d{2})(\\d{3})(\\d{3})(\\d)[VX]");
+    private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^0-9A-Z]");
+
+    private static final double NIC_WEIGHT = 0.45;
+    private static final double DATE_OF_BIRTH_WEIGHT = 0.25;
+    private static final double NAME_WEIGHT = 0.30;
+
+    private final Map<Long, Identity> identities = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> blocks = new ConcurrentHashMap<>();
+    private final double minScore;
+    private volatile boolean ready;
+
+    public DuplicateIdentityIndex(@Value("${inmate.duplicates.min-score:0.5}") double minScore) {
+        this.minScore = minScore;
+    }
+
+    public record Identity(long inmateId, String bookingNumber, String fullName, String nic, LocalDate dateOfBirth,
+                           String[] nameTokens) {
+
+        public static Identity of(Long inmateId, String bookingNumber, String firstName, String middleName,
+                                  String lastName, String nic, LocalDate dateOfBirth) {
+            String fullName = String.join(" ", Arrays.stream(new String[]{firstName, middleName, lastName})
+                    .filter(part -> part != null && !part.isBlank())
+                    .toList());
+            return new Identity(inmateId == null ? 0 : inmateId, bookingNumber, fullName, normalizeNic(nic),
+                    dateOfBirth, NameNormalizer.tokens(firstName, middleName, lastName));
+        }
+
+        public static Identity of(Inmate inmate) {
+            return of(inmate.getId(), inmate.getBookingNumber(), inmate.getFirstName(), inmate.getMiddleName(),
+                    inmate.getLastName(), inmate.getNic(), inmate.getDateOfBirth());
+        }
+    }
+
+    public record Candidate(Identity identity, double score, List<String> reasons) {
+    }
+
+    public record Pair(Identity identity, Candidate duplicate) {
+    }
+
+    public synchronized void put(Identity identity) {
+        remove(identity.inmateId());
+        identities.put(identity.inmateId(), identity);
+        for (String key : blockingKeys(identity)) {
+            blocks.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(identity.inmateId());
+        }
+    }
+
+    /**
+     * Adds the inmate unless it is already indexed, so the startup load never replaces a newer version.
+     */
+    public synchronized void putIfAbsent(Identity identity) {
+        if (!identities.containsKey(identity.inmateId())) {
+            put(identity);
+        }
+    }
+
+    public synchronized void remove(long inmateId) {
+        Identity previous = identities.remove(inmateId);
+        if (previous == null) {
+            return;
+        }
+        for (String key : blockingKeys(previous)) {
+            blocks.computeIfPresent(key, (k, members) -> {
+                members.remove(inmateId);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Indexed inmates that are likely the same person as {@code probe}, best first. The probe itself (same
+     * inmate id) is never reported.
+     */
+    public List<Candidate> candidates(Identity probe, int limit) {
+        Set<Long> seen = new HashSet<>();
+        List<Candidate> candidates = new ArrayList<>();
+        for (String key : blockingKeys(probe)) {
+            for (Long inmateId : blocks.getOrDefault(key, Set.of())) {
+                if (inmateId == probe.inmateId() || !seen.add(inmateId)) {
+                    continue;
+                }
+                Identity other = identities.get(inmateId);
+                Candidate candidate = other == null ? null : score(probe, other);
+                if (candidate != null) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        return candidates.size() > limit ? List.copyOf(candidates.subList(0, limit)) : candidates;
+    }
+
+    /**
+     * Scores {@code other} as a duplicate of {@code probe}; null below the configured minimum score.
+     */
+    public Candidate score(Identity probe, Identity other) {
+        double score = 0;
+        List<String> reasons = new ArrayList<>(3);
+        if (probe.nic() != null && probe.nic().equals(other.nic())) {
+            score += NIC_WEIGHT;
+            reasons.add("NIC");
+        }
+        if (probe.dateOfBirth() != null && probe.dateOfBirth().equals(other.dateOfBirth())) {
+            score += DATE_OF_BIRTH_WEIGHT;
+            reasons.add("DATE_OF_BIRTH");
+        }
+        double nameSimilarity = nameSimilarity(probe.nameTokens(), other.nameTokens());
+        if (nameSimilarity > 0) {
+            score += NAME_WEIGHT * nameSimilarity;
+            reasons.add(nameSimilarity == 1.0 ? "NAME" : "SIMILAR_NAME");
+        }
+        return score >= minScore ? new Candidate(other, score, reasons) : null;
+    }
+
+    /**
+     * Every likely duplicate pair among the indexed inmates, each pair reported once (against the older
+     * record) and best first. Inmates are checked in parallel; each check only reads its own blocks.
+     */
+    public List<Pair> report(int limit) {
+        Collection<Identity> snapshot = List.copyOf(identities.values());
+        return snapshot.parallelStream()
+                .flatMap(identity -> candidates(identity, Integer.MAX_VALUE).stream()
+                        .filter(candidate -> candidate.identity().inmateId() < identity.inmateId())
+                        .map(candidate -> new Pair(identity, candidate)))
+                .sorted(Comparator.comparingDouble((Pair pair) -> pair.duplicate().score()).reversed()
+                        .thenComparingLong(pair -> pair.identity().inmateId()))
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return identities.size();
+    }
+
+    private static List<String> blockingKeys(Identity identity) {
+        List<String> keys = new ArrayList<>(identity.nameTokens().length + 1);
+        if (identity.nic() != null) {
+            keys.add("nic:" + identity.nic());
+        }
+        if (identity.dateOfBirth() != null) {
+            for (String token : identity.nameTokens()) {
+                keys.add("dob:" + identity.dateOfBirth() + ":" + token);
+            }
+        }
+        return keys;
+    }
+
+    // Dice coefficient over normalised name tokens, so word order and spelling variants do not matter
+    private static double nameSimilarity(String[] a, String[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        Set<String> tokens = Set.of(a);
+        long shared = Arrays.stream(b).filter(tokens::contains).count();
+        return 2.0 * shared / (a.length + b.length);
+    }
+
+    static String normalizeNic(String nic) {
+        if (nic == null) {
+            return null;
+        }
+        String compact = NOT_ALPHANUMERIC.matcher(nic.toUpperCase(Locale.ROOT)).replaceAll("");
+        if (compact.isEmpty()) {
+            return null;
+        }
+        var old = OLD_NIC.matcher(compact);
+        if (old.matches()) {
+            // YYDDDSSSC[V|X] became 19YY DDD 0SSS C when 12 digit numbers were introduced
+            return "19" + old.group(1) + old.group(2) + "0" + old.group(3) + old.group(4);
+        }
+        return compact;
+    }
+}
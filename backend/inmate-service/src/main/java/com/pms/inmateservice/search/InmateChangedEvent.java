@@ -0,0 +1,22 @@
+package com.pms.inmateservice.search;
+
+import com.pms.inmateservice.model.Inmate;
+
+/**
+ * Published inside the transaction that created, changed or deleted an inmate; in-memory indexes apply it
+ * once the transaction has committed. {@code inmate} is null for a deletion.
+ */
+public record InmateChangedEvent(Long inmateId, Inmate inmate) {
+
+    public static InmateChangedEvent saved(Inmate inmate) {
+        return new InmateChangedEvent(inmate.getId(), inmate);
+    }
+
+    public static InmateChangedEvent deleted(Long inmateId) {
+        return new InmateChangedEvent(inmateId, null);
+    }
+
+    public boolean isDeletion() {
+        return inmate == null;
+    }
+}
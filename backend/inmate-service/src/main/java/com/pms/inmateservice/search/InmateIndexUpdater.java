@@ -0,0 +1,100 @@
+package com.pms.inmateservice.search;
+
+import com.pms.inmateservice.model.Inmate;
+import com.pms.inmateservice.repository.InmateIdentityView;
+import com.pms.inmateservice.repository.InmateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps {@link InmateNameIndex} and {@link DuplicateIdentityIndex} in step with the database: a background
+ * load at startup, changes made by this instance as soon as their transaction commits, and changes made by
+ * other replicas through the inmate Kafka topics (each instance consumes them in its own group, named after
+ * {@code inmate.instance-id}, and re-reads the inmate by id).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InmateIndexUpdater {
+
+    private final InmateNameIndex nameIndex;
+    private final DuplicateIdentityIndex duplicateIndex;
+    private final InmateRepository inmateRepository;
+
+    @Value("${inmate.name-index.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual().name("inmate-index-loader").start(this::load);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInmateChanged(InmateChangedEvent event) {
+        if (event.isDeletion()) {
+            remove(event.inmateId());
+        } else {
+            put(event.inmate());
+        }
+    }
+
+    @KafkaListener(topics = {"inmate.admitted", "inmate.updated", "inmate.released", "inmate.transferred",
+            "inmate.deleted"},
+            groupId = "inmate-index-${inmate.instance-id}")
+    public void onInmateEvent(ConsumerRecord<String, String> record) {
+        try {
+            Long inmateId = Long.valueOf(record.key());
+            if ("inmate.deleted".equals(record.topic())) {
+                remove(inmateId);
+                return;
+            }
+            inmateRepository.findById(inmateId).ifPresentOrElse(this::put, () -> remove(inmateId));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring {} event with non-numeric key {}", record.topic(), record.key());
+        }
+    }
+
+    private void put(Inmate inmate) {
+        nameIndex.put(inmate.getId(), inmate.getFirstName(), inmate.getMiddleName(), inmate.getLastName());
+        duplicateIndex.put(DuplicateIdentityIndex.Identity.of(inmate));
+    }
+
+    private void remove(Long inmateId) {
+        nameIndex.remove(inmateId);
+        duplicateIndex.remove(inmateId);
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        try {
+            long afterId = 0;
+            List<InmateIdentityView> batch;
+            do {
+                batch = inmateRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(loadBatchSize));
+                for (InmateIdentityView view : batch) {
+                    nameIndex.putIfAbsent(view.getId(), view.getFirstName(), view.getMiddleName(), view.getLastName());
+                    duplicateIndex.putIfAbsent(DuplicateIdentityIndex.Identity.of(view.getId(),
+                            view.getBookingNumber(), view.getFirstName(), view.getMiddleName(), view.getLastName(),
+                            view.getNic(), view.getDateOfBirth()));
+                    afterId = view.getId();
+                }
+            } while (batch.size() == loadBatchSize);
+            nameIndex.markReady();
+            duplicateIndex.markReady();
+            log.info("Loaded {} inmates into the search indexes in {} ms", nameIndex.size(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Failed to load the inmate search indexes; lookups fall back to the database", e);
+        }
+    }
+}
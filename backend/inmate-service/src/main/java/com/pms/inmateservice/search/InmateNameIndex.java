@@ -0,0 +1,292 @@
+package com.pms.inmateservice.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typo-tolerant index over inmate names. Names are reduced with {@link NameNormalizer}, split into
+ * padded trigrams and posted per trigram. A lookup counts shared trigrams to find candidates and then verifies
+ * each candidate with a bounded edit distance, so only a handful of strings are ever compared in full. An
+ * insertion, deletion or substitution breaks at most 3 of a token's trigrams but an adjacent transposition
+ * breaks 4, so a token within k edits still shares all but 4k of them.
+ *
+ * <p>Removed and replaced names leave a dead slot behind; the postings are rebuilt once a quarter of the
+ * slots are dead.
+ */
+@Component
+@Slf4j
+public class InmateNameIndex {
+
+    private static final int Q = 3;
+    private static final String PAD = "  ";
+    private static final int MIN_DEAD_SLOTS_TO_COMPACT = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<Entry> slots = new ArrayList<>();
+    private Map<Long, Integer> slotByInmate = new HashMap<>();
+    private Map<String, Postings> postings = new HashMap<>();
+    private int deadSlots;
+    private volatile boolean ready;
+
+    public record Match(long inmateId, double score) {
+    }
+
+    public void put(long inmateId, String... nameParts) {
+        add(inmateId, true, nameParts);
+    }
+
+    /**
+     * Adds the inmate unless it is already indexed; used by the initial load so it never overwrites a newer
+     * name that arrived through a change event while the load was running.
+     */
+    public void putIfAbsent(long inmateId, String... nameParts) {
+        add(inmateId, false, nameParts);
+    }
+
+    public void remove(long inmateId) {
+        lock.writeLock().lock();
+        try {
+            release(inmateId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByInmate.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inmates whose name contains every token of the query, each within a length-dependent number of edits
+     * after normalisation. Best matches first; the score is the mean similarity of the query tokens.
+     */
+    public List<Match> lookup(String query, int limit) {
+        String[] queryTokens = NameNormalizer.tokens(query);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        // The longest token has the most trigrams and so the most selective postings
+        String driver = Arrays.stream(queryTokens).max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<String> driverGrams = grams(driver);
+        int threshold = Math.max(1, driverGrams.size() - (Q + 1) * maxEdits(driver.length()));
+
+        List<Match> matches = new ArrayList<>();
+        EditDistance editDistance = new EditDistance(32);
+        lock.readLock().lock();
+        try {
+            int[] shared = new int[slots.size()];
+            for (String gram : driverGrams) {
+                Postings posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                for (int i = 0; i < posting.size; i++) {
+                    int slot = posting.slots[i];
+                    if (++shared[slot] == threshold) {
+                        Entry entry = slots.get(slot);
+                        if (entry != null) {
+                            double score = score(queryTokens, entry.tokens(), editDistance);
+                            if (score > 0) {
+                                matches.add(new Match(entry.inmateId(), score));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(Match::score).reversed().thenComparingLong(Match::inmateId));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    private void add(long inmateId, boolean replace, String... nameParts) {
+        String[] tokens = NameNormalizer.tokens(nameParts);
+        lock.writeLock().lock();
+        try {
+            if (!replace && slotByInmate.containsKey(inmateId)) {
+                return;
+            }
+            release(inmateId);
+            if (tokens.length > 0) {
+                index(new Entry(inmateId, tokens));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Entry entry) {
+        int slot = slots.size();
+        slots.add(entry);
+        slotByInmate.put(entry.inmateId(), slot);
+        for (String gram : grams(entry.tokens())) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+    }
+
+    private void release(long inmateId) {
+        Integer slot = slotByInmate.remove(inmateId);
+        if (slot != null) {
+            slots.set(slot, null);
+            deadSlots++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deadSlots < MIN_DEAD_SLOTS_TO_COMPACT || deadSlots * 4 < slots.size()) {
+            return;
+        }
+        List<Entry> live = slots.stream().filter(entry -> entry != null).toList();
+        slots = new ArrayList<>(live.size());
+        slotByInmate = new HashMap<>(live.size() * 2);
+        postings = new HashMap<>();
+        deadSlots = 0;
+        live.forEach(this::index);
+        log.debug("Compacted inmate name index to {} entries", live.size());
+    }
+
+    private static double score(String[] queryTokens, String[] nameTokens, EditDistance editDistance) {
+        double total = 0;
+        for (String queryToken : queryTokens) {
+            int maxEdits = maxEdits(queryToken.length());
+            double best = 0;
+            for (String nameToken : nameTokens) {
+                int distance = editDistance.bounded(queryToken, nameToken, maxEdits);
+                if (distance <= maxEdits) {
+                    best = Math.max(best,
+                            1.0 - (double) distance / Math.max(queryToken.length(), nameToken.length()));
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total / queryTokens.length;
+    }
+
+    // Short names tolerate no edits, otherwise nearly every short name would match
+    private static int maxEdits(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 6 ? 1 : 2;
+    }
+
+    private static Set<String> grams(String... tokens) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            String padded = PAD + token + PAD;
+            for (int i = 0; i + Q <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + Q));
+            }
+        }
+        return grams;
+    }
+
+    private record Entry(long inmateId, String[] tokens) {
+    }
+
+    /**
+     * Optimal string alignment distance (edits plus adjacent transpositions) restricted to the diagonal band
+     * of width {@code maxEdits}; answers {@code maxEdits + 1} as soon as the distance must exceed it. Rows are
+     * reused across calls within one lookup.
+     */
+    private static final class EditDistance {
+        private int[] previous2;
+        private int[] previous;
+        private int[] current;
+
+        EditDistance(int capacity) {
+            allocate(capacity + 1);
+        }
+
+        int bounded(String a, String b, int maxEdits) {
+            int n = a.length();
+            int m = b.length();
+            if (Math.abs(n - m) > maxEdits) {
+                return maxEdits + 1;
+            }
+            if (previous.length < m + 1) {
+                allocate(m + 1);
+            }
+            int outside = maxEdits + 1;
+            for (int j = 0; j <= m; j++) {
+                previous[j] = Math.min(j, outside);
+            }
+            for (int i = 1; i <= n; i++) {
+                int from = Math.max(1, i - maxEdits);
+                int to = Math.min(m, i + maxEdits);
+                current[0] = Math.min(i, outside);
+                if (from > 1) {
+                    current[from - 1] = outside;
+                }
+                int rowMin = from == 1 ? current[0] : outside;
+                for (int j = from; j <= to; j++) {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                    if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                        value = Math.min(value, previous2[j - 2] + 1);
+                    }
+                    current[j] = Math.min(value, outside);
+                    rowMin = Math.min(rowMin, current[j]);
+                }
+                if (to < m) {
+                    current[to + 1] = outside;
+                }
+                if (rowMin > maxEdits) {
+                    return outside;
+                }
+                int[] recycled = previous2;
+                previous2 = previous;
+                previous = current;
+                current = recycled;
+            }
+            return previous[m];
+        }
+
+        private void allocate(int length) {
+            previous2 = new int[length];
+            previous = new int[length];
+            current = new int[length];
+        }
+    }
+
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.pms.inmateservice.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a name to tokens that compare equal across the common ways Sinhala and Tamil names are romanised:
+ * aspirated consonants lose their h (Dharmasena / Darmasena), long vowels are shortened (Jayasooriya /
+ * Jayasuriya), w and v are merged (Wickramasinghe / Vickramasinghe), "ei" becomes "e" (Pereira / Perera) and
+ * doubled letters are collapsed. Accents are stripped; names in Sinhala or Tamil script are kept as written.
+ */
+public final class NameNormalizer {
+
+    private static final Pattern LATIN_ACCENTS = Pattern.compile("[\\u0300-\\u036f]");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}]+");
+
+    // Applied in order; digraphs before the single letters they contain
+    private static final String[][] FOLDS = {
+            {"zh", "l"}, {"th", "t"}, {"dh", "d"}, {"kh", "k"}, {"gh", "g"}, {"bh", "b"}, {"ph", "f"},
+            {"sh", "s"}, {"ch", "c"}, {"ck", "k"}, {"q", "k"}, {"x", "ks"}, {"z", "s"}, {"w", "v"},
+            {"oo", "u"}, {"ei", "e"}, {"ey", "e"}
+    };
+
+    private NameNormalizer() {
+    }
+
+    /**
+     * Distinct normalised tokens of all the given name parts, in order of appearance. Null parts are ignored.
+     */
+    public static String[] tokens(String... nameParts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String part : nameParts) {
+            if (part == null) {
+                continue;
+            }
+            String decomposed = Normalizer.normalize(part, Normalizer.Form.NFD);
+            String plain = LATIN_ACCENTS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+            Arrays.stream(SEPARATORS.split(plain))
+                    .filter(token -> !token.isEmpty())
+                    .map(NameNormalizer::fold)
+                    .forEach(tokens::add);
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    static String fold(String token) {
+        String folded = token;
+        for (String[] fold : FOLDS) {
+            folded = folded.replace(fold[0], fold[1]);
+        }
+        StringBuilder collapsed = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (i == 0 || c != folded.charAt(i - 1)) {
+                collapsed.append(c);
+            }
+        }
+        return collapsed.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.pms.inmateservice.service;
+
+import com.pms.inmateservice.model.Inmate;
+import com.pms.inmateservice.repository.InmateSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last inmate of a page. Encoded as an opaque URL-safe token so clients cannot depend on
+ * its layout; it records the sort it was issued for and is rejected if reused with a different one.
+ */
+record InmateCursor(InmateSortField field, Sort.Direction direction, Long id, String value) {
+
+    static InmateCursor after(Inmate last, InmateSortField field, Sort.Direction direction) {
+        return new InmateCursor(field, direction, last.getId(), field.valueOf(last));
+    }
+
+    static InmateCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // value goes last because booking numbers and names may contain the separator
+            String[] parts = decoded.split("\\|", 4);
+            InmateSortField field = InmateSortField.valueOf(parts[0]);
+            InmateCursor cursor = new InmateCursor(field, Sort.Direction.valueOf(parts[1]),
+                    Long.valueOf(parts[2]), parts[3]);
+            field.parse(cursor.value());
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed page cursor", e);
+        }
+    }
+
+    String encode() {
+        String raw = field.name() + "|" + direction.name() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("rawtypes")
+    Comparable sortValue() {
+        return field.parse(value);
+    }
+}
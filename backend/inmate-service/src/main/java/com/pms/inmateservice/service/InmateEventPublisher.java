@@ -0,0 +1,41 @@
+package com.pms.inmateservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends inmate events to Kafka only once the transaction that produced them has committed, so consumers
+ * never hear of a change that was rolled back and never re-read an inmate before the change is visible.
+ * The payload is built by the caller inside the transaction; outside a transaction the event is sent
+ * straight away.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InmateEventPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public record InmateEvent(String topic, Long inmateId, Object payload) {
+    }
+
+    public void publish(String topic, Long inmateId, Object payload) {
+        eventPublisher.publishEvent(new InmateEvent(topic, inmateId, payload));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void send(InmateEvent event) {
+        try {
+            kafkaTemplate.send(event.topic(), event.inmateId().toString(), event.payload());
+            log.info("Published {} event for ID: {}", event.topic(), event.inmateId());
+        } catch (Exception e) {
+            log.error("Failed to publish {} event for ID: {}", event.topic(), event.inmateId(), e);
+        }
+    }
+}
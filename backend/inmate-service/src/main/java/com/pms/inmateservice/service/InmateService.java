@@ -3,14 +3,28 @@ package com.pms.inmateservice.service;
 import com.pms.inmateservice.dto.*;
 import com.pms.inmateservice.model.*;
 import com.pms.inmateservice.repository.*;
+import com.pms.inmateservice.search.DuplicateIdentityIndex;
+import com.pms.inmateservice.search.InmateChangedEvent;
+import com.pms.inmateservice.search.InmateNameIndex;
+import com.pms.inmateservice.security.CallerContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,7 +38,22 @@ public class InmateService {
     private final EmergencyContactRepository emergencyContactRepository;
     private final WorkAssignmentRepository workAssignmentRepository;
     private final EducationProgramRepository educationProgramRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final InmateEventPublisher inmateEventPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InmateNameIndex nameIndex;
+    private final DuplicateIdentityIndex duplicateIndex;
+
+    @Value("${inmate.listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${inmate.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @Value("${inmate.duplicates.max-candidates:5}")
+    private int maxDuplicateCandidates;
+
+    // Whether pg_trgm is installed, checked on the first search; installing it later needs a restart
+    private volatile Boolean trigramSearch;
 
     @Transactional
     public InmateResponseDTO createInmate(InmateRequestDTO requestDTO) {
@@ -38,14 +67,24 @@ public class InmateService {
         Inmate inmate = mapToEntity(requestDTO);
         inmate.setStatus(InmateStatus.ACTIVE);
         inmate.setCreatedAt(java.time.LocalDateTime.now());
+        inmate.setCreatedBy(CallerContext.currentUsername().orElse(null));
 
         Inmate savedInmate = inmateRepository.save(inmate);
         log.info("Inmate created successfully with ID: {}", savedInmate.getId());
+        eventPublisher.publishEvent(InmateChangedEvent.saved(savedInmate));
+
+        List<DuplicateCandidateDTO> possibleDuplicates = findPossibleDuplicates(savedInmate);
+        if (!possibleDuplicates.isEmpty()) {
+            log.warn("Inmate {} may duplicate existing records: {}", savedInmate.getId(),
+                    possibleDuplicates.stream().map(DuplicateCandidateDTO::getInmateId).toList());
+        }
 
         // Publish Kafka event
         publishInmateAdmittedEvent(savedInmate);
 
-        return mapToResponseDTO(savedInmate);
+        InmateResponseDTO response = mapToResponseDTO(savedInmate);
+        response.setPossibleDuplicates(possibleDuplicates);
+        return response;
     }
 
     @Transactional(readOnly = true)
@@ -71,48 +110,128 @@ public class InmateService {
         return mapToResponseDTO(inmate);
     }
 
+    /**
+     * One page of inmates in keyset order: the next page starts strictly after the last row of this one, so
+     * the database seeks on the sort index instead of skipping OFFSET rows, and only limit + 1 rows are read.
+     */
     @Transactional(readOnly = true)
-    public List<InmateResponseDTO> getAllInmates() {
-        log.info("Fetching all inmates");
-        return inmateRepository.findAll().stream()
+    public InmatePageDTO getInmatesPage(String cursorToken, int limit, String sort, String direction,
+                                        boolean includeTotal) {
+        return findPage(Specification.where(null), cursorToken, limit, sort, direction, includeTotal);
+    }
+
+    private InmatePageDTO findPage(Specification<Inmate> criteria, String cursorToken, int limit, String sort,
+                                   String direction, boolean includeTotal) {
+        InmateSortField field = InmateSortField.fromProperty(sort);
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        InmateCursor cursor = cursorToken == null || cursorToken.isBlank() ? null : InmateCursor.decode(cursorToken);
+        if (cursor != null && (cursor.field() != field || cursor.direction() != sortDirection)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        log.info("Fetching {} inmates sorted by {} {}", pageSize, field.property(), sortDirection);
+
+        Specification<Inmate> spec = cursor == null
+                ? criteria
+                : criteria.and(InmateSpecifications.after(field, sortDirection, cursor.sortValue(), cursor.id()));
+        List<Inmate> rows = inmateRepository.findBy(spec, query -> query
+                .sortBy(InmateSpecifications.keysetSort(field, sortDirection))
+                .limit(pageSize + 1)
+                .all());
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = InmateCursor.after(rows.get(pageSize - 1), field, sortDirection).encode();
+        }
+        List<InmateResponseDTO> content = rows.stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
+        return new InmatePageDTO(content, nextCursor, includeTotal ? inmateRepository.count(criteria) : null);
     }
 
     @Transactional(readOnly = true)
-    public List<InmateResponseDTO> searchInmates(String searchTerm) {
+    public List<InmateResponseDTO> searchInmates(String searchTerm, int limit) {
         log.info("Searching inmates with term: {}", searchTerm);
-        return inmateRepository.searchInmates(searchTerm).stream()
+        String term = searchTerm == null ? "" : searchTerm.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        String pattern = InmateSpecifications.containsPattern(term);
+        int cappedLimit = Math.max(1, Math.min(limit, maxSearchLimit));
+        List<Inmate> inmates = isTrigramSearchAvailable()
+                ? inmateRepository.searchInmates(term, pattern, cappedLimit)
+                : inmateRepository.searchInmatesWithoutRanking(term, pattern, cappedLimit);
+        return inmates.stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public List<InmateResponseDTO> filterInmates(InmateFilterDTO filter) {
-        log.info("Filtering inmates with criteria: {}", filter);
-        
-        List<Inmate> inmates = inmateRepository.findAll();
-        
-        if (filter.getSearchTerm() != null && !filter.getSearchTerm().isEmpty()) {
-            inmates = inmateRepository.searchInmates(filter.getSearchTerm());
-        } else if (filter.getStatus() != null) {
-            inmates = inmateRepository.findByStatus(filter.getStatus());
-        } else if (filter.getSecurityLevel() != null) {
-            inmates = inmateRepository.findBySecurityLevel(filter.getSecurityLevel());
-        } else if (filter.getCurrentFacility() != null) {
-            inmates = inmateRepository.findByCurrentFacility(filter.getCurrentFacility());
+    private boolean isTrigramSearchAvailable() {
+        Boolean available = trigramSearch;
+        if (available == null) {
+            available = inmateRepository.isTrigramExtensionInstalled();
+            if (!available) {
+                log.warn("pg_trgm is not installed; inmate search falls back to unranked LIKE matching");
+            }
+            trigramSearch = available;
         }
+        return available;
+    }
 
-        // Apply additional filters
-        return inmates.stream()
-                .filter(inmate -> filter.getBlock() == null || filter.getBlock().equals(inmate.getBlock()))
-                .filter(inmate -> filter.getGangAffiliation() == null || filter.getGangAffiliation().equals(inmate.getGangAffiliation()))
-                .filter(inmate -> filter.getHighRisk() == null || 
-                        (filter.getHighRisk() && (inmate.getEscapeRisk() || inmate.getViolentHistory())))
+    /**
+     * Typo- and spelling-tolerant name lookup ("Pereira" finds "Perera") served from the in-memory
+     * {@link InmateNameIndex}. Until the index has finished loading, the database search is used instead.
+     */
+    @Transactional(readOnly = true)
+    public List<InmateResponseDTO> fuzzySearchInmates(String name, int limit) {
+        int cappedLimit = Math.max(1, Math.min(limit, maxSearchLimit));
+        if (!nameIndex.isReady()) {
+            log.info("Name index still loading; searching the database for: {}", name);
+            return searchInmates(name, cappedLimit);
+        }
+        log.info("Fuzzy searching inmates with name: {}", name);
+        List<Long> ids = nameIndex.lookup(name, cappedLimit).stream()
+                .map(InmateNameIndex.Match::inmateId)
+                .toList();
+        Map<Long, Inmate> inmates = inmateRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Inmate::getId, Function.identity()));
+        return ids.stream()
+                .map(inmates::get)
+                .filter(inmate -> inmate != null)
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Existing inmates sharing NIC, date of birth or name with each other, most likely duplicates first.
+     * Every indexed inmate is checked against its own blocks, in parallel.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicatePairDTO> getDuplicateReport(int limit) {
+        if (!duplicateIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Duplicate identity index is still loading; try again shortly");
+        }
+        log.info("Building duplicate identity report over {} inmates", duplicateIndex.size());
+        return duplicateIndex.report(limit).stream()
+                .map(pair -> new DuplicatePairDTO(pair.identity().inmateId(), pair.identity().bookingNumber(),
+                        pair.identity().fullName(), toCandidateDTO(pair.duplicate())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Same paging contract as {@link #getInmatesPage}, restricted to the inmates matching every criterion of
+     * the filter. Filtering, ordering and the page limit are all applied by the database in one query.
+     */
+    @Transactional(readOnly = true)
+    public InmatePageDTO filterInmates(InmateFilterDTO filter, String cursorToken, int limit, String sort,
+                                       String direction, boolean includeTotal) {
+        log.info("Filtering inmates with criteria: {}", filter);
+        return findPage(InmateSpecifications.matching(filter), cursorToken, limit, sort, direction, includeTotal);
+    }
+
     @Transactional
     public InmateResponseDTO updateInmate(Long id, InmateRequestDTO requestDTO) {
         log.info("Updating inmate with ID: {}", id);
@@ -122,9 +241,14 @@ public class InmateService {
 
         updateInmateFromDTO(inmate, requestDTO);
         inmate.setUpdatedAt(java.time.LocalDateTime.now());
+        inmate.setUpdatedBy(CallerContext.currentUsername().orElse(null));
 
         Inmate updatedInmate = inmateRepository.save(inmate);
         log.info("Inmate updated successfully: {}", updatedInmate.getId());
+        eventPublisher.publishEvent(InmateChangedEvent.saved(updatedInmate));
+
+        // Publish Kafka event
+        publishInmateUpdatedEvent(updatedInmate);
 
         return mapToResponseDTO(updatedInmate);
     }
@@ -138,7 +262,11 @@ public class InmateService {
         }
 
         inmateRepository.deleteById(id);
+        eventPublisher.publishEvent(InmateChangedEvent.deleted(id));
         log.info("Inmate deleted successfully: {}", id);
+
+        // Publish Kafka event
+        publishInmateDeletedEvent(id);
     }
 
     @Transactional
@@ -151,9 +279,11 @@ public class InmateService {
         inmate.setStatus(InmateStatus.RELEASED);
         inmate.setReleaseDate(LocalDate.now());
         inmate.setUpdatedAt(java.time.LocalDateTime.now());
+        inmate.setUpdatedBy(CallerContext.currentUsername().orElse(null));
 
         Inmate releasedInmate = inmateRepository.save(inmate);
         log.info("Inmate released successfully: {}", releasedInmate.getId());
+        eventPublisher.publishEvent(InmateChangedEvent.saved(releasedInmate));
 
         // Publish Kafka event
         publishInmateReleasedEvent(releasedInmate);
@@ -173,9 +303,11 @@ public class InmateService {
         inmate.setBlock(newBlock);
         inmate.setCellNumber(newCell);
         inmate.setUpdatedAt(java.time.LocalDateTime.now());
+        inmate.setUpdatedBy(CallerContext.currentUsername().orElse(null));
 
         Inmate transferredInmate = inmateRepository.save(inmate);
         log.info("Inmate transferred successfully from {} to {}", oldFacility, newFacility);
+        eventPublisher.publishEvent(InmateChangedEvent.saved(transferredInmate));
 
         // Publish Kafka event
         publishInmateTransferredEvent(transferredInmate, oldFacility, newFacility);
@@ -210,6 +342,31 @@ public class InmateService {
                 .collect(Collectors.toList());
     }
 
+    private List<DuplicateCandidateDTO> findPossibleDuplicates(Inmate inmate) {
+        DuplicateIdentityIndex.Identity probe = DuplicateIdentityIndex.Identity.of(inmate);
+        List<DuplicateIdentityIndex.Candidate> candidates;
+        if (duplicateIndex.isReady()) {
+            candidates = duplicateIndex.candidates(probe, maxDuplicateCandidates);
+        } else {
+            candidates = inmateRepository.findIdentityMatches(inmate.getNic(), inmate.getDateOfBirth()).stream()
+                    .filter(other -> !other.getId().equals(inmate.getId()))
+                    .map(other -> duplicateIndex.score(probe, DuplicateIdentityIndex.Identity.of(other)))
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingDouble(DuplicateIdentityIndex.Candidate::score).reversed())
+                    .limit(maxDuplicateCandidates)
+                    .toList();
+        }
+        return candidates.stream()
+                .map(this::toCandidateDTO)
+                .collect(Collectors.toList());
+    }
+
+    private DuplicateCandidateDTO toCandidateDTO(DuplicateIdentityIndex.Candidate candidate) {
+        DuplicateIdentityIndex.Identity identity = candidate.identity();
+        return new DuplicateCandidateDTO(identity.inmateId(), identity.bookingNumber(), identity.fullName(),
+                Math.round(candidate.score() * 100) / 100.0, candidate.reasons());
+    }
+
     // Helper methods for mapping
     private Inmate mapToEntity(InmateRequestDTO dto) {
         Inmate inmate = new Inmate();
@@ -342,32 +499,24 @@ public class InmateService {
         return dto;
     }
 
-    // Kafka event publishing
+    // Kafka event publishing; sent by InmateEventPublisher once the transaction has committed
     private void publishInmateAdmittedEvent(Inmate inmate) {
-        try {
-            kafkaTemplate.send("inmate.admitted", inmate.getId().toString(), mapToResponseDTO(inmate));
-            log.info("Published inmate admitted event for ID: {}", inmate.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish inmate admitted event", e);
-        }
+        inmateEventPublisher.publish("inmate.admitted", inmate.getId(), mapToResponseDTO(inmate));
+    }
+
+    private void publishInmateUpdatedEvent(Inmate inmate) {
+        inmateEventPublisher.publish("inmate.updated", inmate.getId(), mapToResponseDTO(inmate));
     }
 
     private void publishInmateReleasedEvent(Inmate inmate) {
-        try {
-            kafkaTemplate.send("inmate.released", inmate.getId().toString(), mapToResponseDTO(inmate));
-            log.info("Published inmate released event for ID: {}", inmate.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish inmate released event", e);
-        }
+        inmateEventPublisher.publish("inmate.released", inmate.getId(), mapToResponseDTO(inmate));
     }
 
     private void publishInmateTransferredEvent(Inmate inmate, String oldFacility, String newFacility) {
-        try {
-            kafkaTemplate.send("inmate.transferred", inmate.getId().toString(), 
-                    mapToResponseDTO(inmate));
-            log.info("Published inmate transferred event for ID: {}", inmate.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish inmate transferred event", e);
-        }
+        inmateEventPublisher.publish("inmate.transferred", inmate.getId(), mapToResponseDTO(inmate));
+    }
+
+    private void publishInmateDeletedEvent(Long id) {
+        inmateEventPublisher.publish("inmate.deleted", id, Map.of("id", id));
     }
 }
@@ -0,0 +1,22 @@
+-- Runs on every start after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization),
+-- so every statement must be idempotent. Statements end with @@ (spring.sql.init.separator) so the DO block
+-- below can contain semicolons.
+
+-- Trigram indexes for the inmate search: substring LIKE '%term%' and similarity() ranking on the lower-cased
+-- columns, matching the expressions used by InmateRepository.searchInmates and the filter's searchTerm.
+-- The pg_trgm extension is installed once per database as a deployment step, by a role allowed to create
+-- extensions (the service's own role usually is not):
+--     CREATE EXTENSION IF NOT EXISTS pg_trgm;
+-- Until it is installed the indexes are skipped and /inmates/search falls back to unranked LIKE matching.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_inmates_first_name_trgm ON inmates USING gin (lower(first_name) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_inmates_last_name_trgm ON inmates USING gin (lower(last_name) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_inmates_booking_number_trgm ON inmates USING gin (lower(booking_number) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_inmates_nic_trgm ON inmates USING gin (lower(nic) gin_trgm_ops);
+    ELSE
+        RAISE WARNING 'pg_trgm is not installed; inmate search indexes were not created';
+    END IF;
+END
+$$@@
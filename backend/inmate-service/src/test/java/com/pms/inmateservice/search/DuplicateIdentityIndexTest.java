@@ -0,0 +1,147 @@
+package com.pms.inmateservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateIdentityIndexTest {
+
+    private static final LocalDate BORN = LocalDate.of(1985, 12, 5);
+
+    private DuplicateIdentityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DuplicateIdentityIndex(0.5);
+    }
+
+    @Test
+    void foldsOldNicNumbersToTheTwelveDigitForm() {
+        assertEquals("198534000123", DuplicateIdentityIndex.normalizeNic("853400123V"));
+        assertEquals("198534000123", DuplicateIdentityIndex.normalizeNic("853400123x"));
+        assertEquals("198534000123", DuplicateIdentityIndex.normalizeNic("1985 3400 0123"));
+        assertEquals("198534000123", DuplicateIdentityIndex.normalizeNic("85-340-0123-V"));
+    }
+
+    @Test
+    void blankOrMissingNicIsNull() {
+        assertNull(DuplicateIdentityIndex.normalizeNic(null));
+        assertNull(DuplicateIdentityIndex.normalizeNic(""));
+        assertNull(DuplicateIdentityIndex.normalizeNic(" - "));
+    }
+
+    @Test
+    void matchesAReissuedCardUnderADifferentSpelling() {
+        index.put(identity(1, "Kamal", "Perera", "853400123V", BORN));
+
+        List<DuplicateIdentityIndex.Candidate> candidates =
+                index.candidates(identity(2, "Kamal", "Pereira", "198534000123", BORN), 5);
+
+        assertEquals(1, candidates.size());
+        assertEquals(1L, candidates.get(0).identity().inmateId());
+        assertEquals(List.of("NIC", "DATE_OF_BIRTH", "NAME"), candidates.get(0).reasons());
+        assertEquals(1.0, candidates.get(0).score(), 1e-9);
+    }
+
+    @Test
+    void matchesOnDateOfBirthAndNameWithoutANic() {
+        index.put(identity(1, "Nimal", "Silva", null, BORN));
+
+        List<DuplicateIdentityIndex.Candidate> candidates =
+                index.candidates(identity(2, "Nimal", "Silva", null, BORN), 5);
+
+        assertEquals(1, candidates.size());
+        assertEquals(List.of("DATE_OF_BIRTH", "NAME"), candidates.get(0).reasons());
+    }
+
+    @Test
+    void doesNotCompareInmatesThatShareNoBlock() {
+        index.put(identity(1, "Nimal", "Silva", null, BORN));
+        index.put(identity(2, "Sunil", "Kumara", null, BORN));
+
+        // Same name, other birthday; same birthday, other name
+        assertTrue(index.candidates(identity(3, "Nimal", "Silva", null, BORN.plusDays(1)), 5).isEmpty());
+        assertTrue(index.candidates(identity(4, "Ruwan", "Fernando", null, BORN), 5).isEmpty());
+    }
+
+    @Test
+    void dropsCandidatesBelowTheMinimumScore() {
+        DuplicateIdentityIndex.Identity probe = identity(2, "Nimal", "Fernando", null, BORN);
+
+        // Shares the date of birth and one of two name tokens: 0.25 + 0.30 * 0.5
+        assertNull(index.score(probe, identity(1, "Nimal", "Silva", null, BORN)));
+    }
+
+    @Test
+    void neverReportsTheProbeItself() {
+        DuplicateIdentityIndex.Identity inmate = identity(1, "Kamal", "Perera", "853400123V", BORN);
+        index.put(inmate);
+
+        assertTrue(index.candidates(inmate, 5).isEmpty());
+    }
+
+    @Test
+    void ordersCandidatesBestFirstAndHonoursTheLimit() {
+        index.put(identity(1, "Kamal", "Perera", null, BORN));
+        index.put(identity(2, "Kamal", "Perera", "853400123V", BORN));
+        index.put(identity(3, "Kamal", "Perera", "853400123V", null));
+        DuplicateIdentityIndex.Identity probe = identity(4, "Kamal", "Perera", "198534000123", BORN);
+
+        List<DuplicateIdentityIndex.Candidate> candidates = index.candidates(probe, 5);
+        assertEquals(List.of(2L, 3L, 1L), candidates.stream().map(c -> c.identity().inmateId()).toList());
+
+        assertEquals(List.of(2L), index.candidates(probe, 1).stream().map(c -> c.identity().inmateId()).toList());
+    }
+
+    @Test
+    void replacingOrRemovingAnInmateUpdatesItsBlocks() {
+        index.put(identity(1, "Kamal", "Perera", "853400123V", null));
+        DuplicateIdentityIndex.Identity probe = identity(2, "Kamal", "Perera", "198534000123", null);
+        assertEquals(1, index.candidates(probe, 5).size());
+
+        index.put(identity(1, "Kamal", "Perera", "901234567V", null));
+        assertTrue(index.candidates(probe, 5).isEmpty());
+
+        index.put(identity(1, "Kamal", "Perera", "853400123V", null));
+        index.remove(1);
+        assertTrue(index.candidates(probe, 5).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void putIfAbsentKeepsTheIndexedVersion() {
+        index.put(identity(1, "Kamal", "Perera", "853400123V", null));
+        index.putIfAbsent(identity(1, "Kamal", "Perera", "901234567V", null));
+
+        assertEquals(1, index.candidates(identity(2, "Kamal", "Perera", "853400123V", null), 5).size());
+    }
+
+    @Test
+    void reportListsEachPairOnceAgainstTheOlderRecord() {
+        index.put(identity(1, "Kamal", "Perera", "853400123V", BORN));
+        index.put(identity(2, "Kamal", "Pereira", "198534000123", BORN));
+        index.put(identity(3, "Nimal", "Silva", null, BORN.minusYears(10)));
+        index.put(identity(4, "Nimal", "Silva", null, BORN.minusYears(10)));
+        index.put(identity(5, "Ruwan", "Fernando", null, BORN));
+
+        List<DuplicateIdentityIndex.Pair> report = index.report(10);
+
+        assertEquals(2, report.size());
+        assertEquals(2L, report.get(0).identity().inmateId());
+        assertEquals(1L, report.get(0).duplicate().identity().inmateId());
+        assertEquals(4L, report.get(1).identity().inmateId());
+        assertEquals(3L, report.get(1).duplicate().identity().inmateId());
+        assertEquals(1, index.report(1).size());
+    }
+
+    private static DuplicateIdentityIndex.Identity identity(long id, String firstName, String lastName, String nic,
+                                                            LocalDate dateOfBirth) {
+        return DuplicateIdentityIndex.Identity.of(id, "B" + id, firstName, null, lastName, nic, dateOfBirth);
+    }
+}
@@ -0,0 +1,127 @@
+package com.pms.inmateservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InmateNameIndexTest {
+
+    private InmateNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InmateNameIndex();
+        index.put(1, "Nimal", null, "Silva");
+        index.put(2, "Kamal", null, "Perera");
+        index.put(3, "Sunil", null, "Kumara");
+        index.put(4, "Ruwan", null, "Fernando");
+        index.put(5, "Saman", "Dharmasena", "Wickramasinghe");
+        index.put(6, "Raj", null, "Kumar");
+    }
+
+    @Test
+    void findsAdjacentTranspositions() {
+        assertEquals(List.of(1L), ids("Silav"));
+        assertEquals(List.of(1L), ids("Sliva"));
+        assertEquals(List.of(2L), ids("Preera"));
+        assertEquals(List.of(3L), ids("Kuamra"));
+    }
+
+    @Test
+    void findsSubstitutionsInsertionsAndDeletions() {
+        assertEquals(List.of(2L), ids("Perara"));
+        assertEquals(List.of(4L), ids("Fernendo"));
+        assertEquals(List.of(4L), ids("Frenandoo"));
+        assertEquals(List.of(5L), ids("Wickramasnghe"));
+    }
+
+    @Test
+    void findsRomanisationVariants() {
+        assertEquals(List.of(2L), ids("Pereira"));
+        assertEquals(List.of(5L), ids("Darmasena"));
+        assertEquals(List.of(5L), ids("Vikramasinghe"));
+    }
+
+    @Test
+    void shortTokensMustMatchExactly() {
+        assertEquals(List.of(6L), ids("Raj"));
+        assertEquals(List.of(), ids("Ram"));
+    }
+
+    @Test
+    void tooManyEditsDoNotMatch() {
+        assertEquals(List.of(), ids("Slvia"));
+        assertEquals(List.of(), ids("Fremamdo"));
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        assertEquals(List.of(2L), ids("Kamal Preera"));
+        assertEquals(List.of(), ids("Nimal Perera"));
+    }
+
+    @Test
+    void exactMatchesRankFirst() {
+        index.put(7, "Nimal", null, "Silav");
+
+        List<InmateNameIndex.Match> matches = index.lookup("Silva", 10);
+
+        assertEquals(2, matches.size());
+        assertEquals(1L, matches.get(0).inmateId());
+        assertEquals(1.0, matches.get(0).score(), 1e-9);
+        assertEquals(7L, matches.get(1).inmateId());
+        assertTrue(matches.get(1).score() < 1.0);
+    }
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        index.put(1, "Nimal", null, "Jayasuriya");
+        index.remove(2);
+
+        assertEquals(List.of(), ids("Silva"));
+        assertEquals(List.of(1L), ids("Jayasooriya"));
+        assertEquals(List.of(), ids("Perera"));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void putIfAbsentKeepsTheNewerName() {
+        index.putIfAbsent(1, "Nimal", null, "Perera");
+        index.putIfAbsent(8, "Nimal", null, "Perera");
+
+        assertEquals(List.of(2L, 8L), ids("Perera"));
+    }
+
+    @Test
+    void staysCorrectAcrossCompaction() {
+        for (long id = 100; id < 3100; id++) {
+            index.put(id, "Temp", null, "Inmate");
+        }
+        for (long id = 100; id < 3100; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(6, index.size());
+        assertEquals(List.of(1L), ids("Sliva"));
+        assertEquals(List.of(), ids("Inmate"));
+    }
+
+    @Test
+    void honoursTheLimit() {
+        for (long id = 10; id < 20; id++) {
+            index.put(id, "Anura", null, "Perera");
+        }
+
+        assertEquals(3, index.lookup("Perera", 3).size());
+        assertEquals(List.of(), index.lookup("Perera", 0));
+        assertEquals(List.of(), index.lookup("  ", 10));
+    }
+
+    private List<Long> ids(String query) {
+        return index.lookup(query, 10).stream().map(InmateNameIndex.Match::inmateId).toList();
+    }
+}
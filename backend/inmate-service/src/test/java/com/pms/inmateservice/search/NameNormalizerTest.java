@@ -0,0 +1,52 @@
+package com.pms.inmateservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameNormalizerTest {
+
+    @Test
+    void foldsRomanisationVariantsToTheSameToken() {
+        assertSameToken("Pereira", "Perera");
+        assertSameToken("Dharmasena", "Darmasena");
+        assertSameToken("Jayasooriya", "Jayasuriya");
+        assertSameToken("Wickramasinghe", "Vickramasinghe");
+        assertSameToken("Wickramasinghe", "Vikramasinghe");
+        assertSameToken("Fonseka", "Fonsekka");
+        assertSameToken("Seelawathie", "Selawathie");
+    }
+
+    @Test
+    void stripsAccentsAndCase() {
+        assertSameToken("PÉRERA", "perera");
+        assertSameToken("Muñoz", "munos");
+    }
+
+    @Test
+    void splitsPartsIntoDistinctTokensInOrder() {
+        assertArrayEquals(new String[]{"kamal", "perera"},
+                NameNormalizer.tokens("Kamal", null, "Perera-Pereira"));
+        assertArrayEquals(new String[]{"de", "silva"}, NameNormalizer.tokens("  de Silva, "));
+        assertArrayEquals(new String[0], NameNormalizer.tokens(null, " ", "--"));
+    }
+
+    @Test
+    void keepsSinhalaAndTamilScriptWhole() {
+        String sinhala = "පෙරේරා";
+        String tamil = "குமார்";
+
+        assertEquals(1, NameNormalizer.tokens(sinhala).length);
+        assertEquals(1, NameNormalizer.tokens(tamil).length);
+        // Composed and decomposed input compare equal
+        assertSameToken(sinhala, Normalizer.normalize(sinhala, Normalizer.Form.NFD));
+        assertSameToken(tamil, Normalizer.normalize(tamil, Normalizer.Form.NFD));
+    }
+
+    private static void assertSameToken(String a, String b) {
+        assertEquals(NameNormalizer.tokens(a)[0], NameNormalizer.tokens(b)[0], a + " / " + b);
+    }
+}
@@ -0,0 +1,41 @@
+package com.pms.rehabilitationservice.config;
+
+import com.pms.rehabilitationservice.deadline.RequestDeadline;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.util.Optional;
+
+/**
+ * Caps connect and read timeouts of outgoing calls to what is left of the current request's deadline, and
+ * refuses to start a call at all once the deadline has passed. Calls made outside a request keep the
+ * configured timeouts.
+ */
+public class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        Optional<RequestDeadline> deadline = RequestDeadline.current();
+        if (deadline.isEmpty()) {
+            return;
+        }
+        long remaining = deadline.get().remainingMillis();
+        if (remaining <= 0) {
+            throw new SocketTimeoutException("Request deadline already passed, skipping call to " + connection.getURL());
+        }
+        connection.setConnectTimeout(cap(connection.getConnectTimeout(), remaining));
+        connection.setReadTimeout(cap(connection.getReadTimeout(), remaining));
+        connection.setRequestProperty(RequestDeadline.HEADER, Long.toString(remaining));
+    }
+
+    // A configured timeout of 0 means "no limit", so the deadline always applies then
+    private static int cap(int configuredMillis, long remainingMillis) {
+        if (configuredMillis <= 0 || remainingMillis < configuredMillis) {
+            return (int) Math.min(Integer.MAX_VALUE, remainingMillis);
+        }
+        return configuredMillis;
+    }
+}
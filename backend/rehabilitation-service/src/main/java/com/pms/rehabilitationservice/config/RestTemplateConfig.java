@@ -10,9 +10,11 @@ import java.time.Duration;
 @Configuration
 public class RestTemplateConfig {
     
+    // Upper bounds; DeadlineAwareRequestFactory shrinks them to the caller's remaining deadline per call
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
         return builder
+                .requestFactory(DeadlineAwareRequestFactory::new)
                 .setConnectTimeout(Duration.ofSeconds(10))
                 .setReadTimeout(Duration.ofSeconds(30))
                 .build();
@@ -2,6 +2,7 @@ package com.pms.rehabilitationservice.controller;
 
 import com.pms.rehabilitationservice.dto.*;
 import com.pms.rehabilitationservice.model.*;
+import com.pms.rehabilitationservice.security.CallerContext;
 import com.pms.rehabilitationservice.service.RehabilitationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -75,7 +76,9 @@ public class RehabilitationController {
         Integer progressPercentage = request.containsKey("progressPercentage") ?
                 ((Number) request.get("progressPercentage")).intValue() : null;
         String notes = (String) request.get("notes");
-        String recordedBy = (String) request.get("recordedBy");
+        // Prefer the gateway-asserted caller over a self-reported recordedBy
+        String recordedBy = CallerContext.currentUsername()
+                .orElse((String) request.get("recordedBy"));
         
         return ResponseEntity.ok(rehabilitationService.logProgress(
                 recommendationId, status, progressPercentage, notes, recordedBy));
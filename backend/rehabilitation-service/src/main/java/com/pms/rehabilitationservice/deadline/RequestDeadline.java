@@ -0,0 +1,38 @@
+package com.pms.rehabilitationservice.deadline;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time after which nobody is waiting for the current request any more. Derived from the remaining
+ * budget the API gateway sends in X-Request-Timeout (milliseconds) and held as a request attribute.
+ */
+public record RequestDeadline(long deadlineNanos) {
+
+    public static final String HEADER = "X-Request-Timeout";
+
+    static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    public static RequestDeadline afterMillis(long millis) {
+        return new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public static Optional<RequestDeadline> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((RequestDeadline) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.pms.rehabilitationservice.security;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Identity of the caller as asserted by the API gateway through trusted X-User / X-Role / X-Token-Id headers.
+ * Held as a request attribute for the lifetime of the request.
+ */
+public record CallerContext(String username, String role, String tokenId) {
+
+    public static final String USER_HEADER = "X-User";
+    public static final String ROLE_HEADER = "X-Role";
+    public static final String TOKEN_ID_HEADER = "X-Token-Id";
+
+    static final String ATTRIBUTE = CallerContext.class.getName();
+
+    public static Optional<CallerContext> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((CallerContext) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    public static Optional<String> currentUsername() {
+        return current().map(CallerContext::username);
+    }
+}
@@ -0,0 +1,31 @@
+package com.pms.rehabilitationservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Reads the identity headers injected by the API gateway into a request-scoped {@link CallerContext}.
+ * No token parsing happens here; the gateway has already verified the JWT and strips client-supplied values.
+ */
+@Component
+public class CallerContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String username = request.getHeader(CallerContext.USER_HEADER);
+        if (username != null && !username.isBlank()) {
+            request.setAttribute(CallerContext.ATTRIBUTE, new CallerContext(
+                    username,
+                    request.getHeader(CallerContext.ROLE_HEADER),
+                    request.getHeader(CallerContext.TOKEN_ID_HEADER)));
+        }
+        filterChain.doFilter(request, response);
+    }
+}